@@ -2,6 +2,7 @@ plugins {
     `java-library`
     `maven-publish`
     id("io.papermc.paperweight.userdev") version "2.0.0-beta.18"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "ovh.roro.libraries"
@@ -33,6 +34,16 @@ dependencies {
     api("ovh.roro.libraries:language-api:1.21.9-rc1")
 }
 
+// The benchmarks run against the same mojang mapped server as the library
+configurations.jmhImplementation {
+    extendsFrom(configurations.compileOnly.get())
+}
+
+jmh {
+    // Reports the allocations per operation as gc.alloc.rate.norm
+    profilers.add("gc")
+}
+
 tasks.compileJava {
     options.encoding = Charsets.UTF_8.name() // We want UTF-8 for everything
 
@@ -41,6 +52,11 @@ tasks.compileJava {
     options.release.set(21)
 }
 
+tasks.named<JavaCompile>("compileJmhJava") {
+    options.encoding = Charsets.UTF_8.name()
+    options.release.set(21)
+}
+
 tasks.javadoc {
     options.encoding = Charsets.UTF_8.name() // We want UTF-8 for everything
 }
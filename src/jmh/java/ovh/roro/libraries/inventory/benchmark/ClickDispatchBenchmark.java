@@ -0,0 +1,98 @@
+package ovh.roro.libraries.inventory.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ovh.roro.libraries.inventory.api.InventoryManager;
+import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
+import ovh.roro.libraries.inventory.api.event.item.click.ItemLeftClickHandler;
+import ovh.roro.libraries.inventory.api.instance.ItemInstance;
+import ovh.roro.libraries.inventory.api.item.ItemBuilder;
+import ovh.roro.libraries.inventory.impl.item.ItemImpl;
+import ovh.roro.libraries.inventory.impl.metrics.Timer;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Dispatches a left click to an item, compared to the previous Optional and lambda based dispatch
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClickDispatchBenchmark {
+
+    private InventoryPlayerHolder player;
+    private ItemInstance<Object, InventoryPlayerHolder> instance;
+    private ItemImpl<Object, InventoryPlayerHolder> item;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        // Dispatching never calls the manager nor the player, they only need to exist
+        InventoryManager inventoryManager = ClickDispatchBenchmark.stub(InventoryManager.class);
+
+        this.player = ClickDispatchBenchmark.stub(InventoryPlayerHolder.class);
+        this.instance = new ClickedItem(blackhole);
+        this.item = new ItemImpl<>(inventoryManager, this.instance, 1, new Timer());
+    }
+
+    @Benchmark
+    public void dispatch() {
+        this.item.dispatch(ItemImpl.LEFT_CLICK, this.player, false, null, null);
+    }
+
+    @Benchmark
+    public void dispatchWithoutHandler() {
+        this.item.dispatch(ItemImpl.RIGHT_CLICK, this.player, false, null, null);
+    }
+
+    // The dispatch used before the handler mask, one Optional and one capturing lambda per click
+    @Benchmark
+    public void optionalHandler() {
+        this.leftClickHandler().ifPresent(handler -> handler.onLeftClick(this.player, false, null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull Optional<ItemLeftClickHandler<Object, InventoryPlayerHolder>> leftClickHandler() {
+        if (this.instance instanceof ItemLeftClickHandler) {
+            return Optional.of((ItemLeftClickHandler<Object, InventoryPlayerHolder>) this.instance);
+        }
+
+        return Optional.empty();
+    }
+
+    private static <T> @NotNull T stub(@NotNull Class<T> clazz) {
+        return clazz.cast(Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]{clazz}, (proxy, method, args) -> null));
+    }
+
+    private static final class ClickedItem implements ItemInstance<Object, InventoryPlayerHolder>, ItemLeftClickHandler<Object, InventoryPlayerHolder> {
+
+        private final @NotNull Blackhole blackhole;
+
+        private ClickedItem(@NotNull Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public @NotNull ItemBuilder buildItem(@NotNull InventoryPlayerHolder player, @Nullable Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void onLeftClick(@NotNull InventoryPlayerHolder player, boolean isShiftClick, @Nullable Object value) {
+            this.blackhole.consume(player);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package ovh.roro.libraries.inventory.benchmark;
+
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.CustomData;
+import org.bukkit.craftbukkit.inventory.CraftInventory;
+import org.bukkit.craftbukkit.inventory.CraftItemStack;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
+import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
+import ovh.roro.libraries.inventory.impl.InventoryWrapper;
+import ovh.roro.libraries.inventory.impl.listener.ItemInventoryListener;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Clicks per second handled by the click listener on a chest unrelated to the API, compared to the
+// previous routing which mapped the player and copied the tag of the clicked item first
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClickRoutingBenchmark {
+
+    private ItemInventoryListener listener;
+    private InventoryClickEvent event;
+    private Map<UUID, InventoryPlayerHolder> players;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        MinecraftBootstrap.init();
+
+        // Another plugin's chest, holding an item with some custom data of its own
+        CompoundTag tag = new CompoundTag();
+        tag.putString("other_plugin", "value");
+
+        net.minecraft.world.item.ItemStack clickedStack = new net.minecraft.world.item.ItemStack(Items.DIAMOND);
+        clickedStack.set(DataComponents.CUSTOM_DATA, CustomData.of(tag));
+
+        SimpleContainer container = new SimpleContainer(27);
+        container.setItem(0, clickedStack);
+
+        CraftInventory inventory = new CraftInventory(container);
+        ItemStack currentItem = CraftItemStack.asCraftMirror(clickedStack);
+        ItemStack cursor = CraftItemStack.asCraftMirror(net.minecraft.world.item.ItemStack.EMPTY);
+        UUID uuid = UUID.randomUUID();
+
+        Player player = ClickRoutingBenchmark.stub(Player.class, (method, args) -> method.equals("getUniqueId") ? uuid : null);
+        InventoryView view = ClickRoutingBenchmark.stub(InventoryView.class, (method, args) -> switch (method) {
+            case "getTopInventory", "getInventory" -> inventory;
+            case "getItem" -> currentItem;
+            case "getCursor" -> cursor;
+            case "getPlayer" -> player;
+            case "convertSlot" -> args[0];
+            default -> null;
+        });
+
+        this.event = new InventoryClickEvent(view, InventoryType.SlotType.CONTAINER, 0, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        this.players = new HashMap<>();
+        this.players.put(uuid, ClickRoutingBenchmark.stub(InventoryPlayerHolder.class, (method, args) -> null));
+
+        // Routing a click on a foreign container reads no state of the manager, it does not need a running server
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+
+        this.listener = new ItemInventoryListener((InventoryManagerImpl) ((Unsafe) field.get(null)).allocateInstance(InventoryManagerImpl.class));
+    }
+
+    @Benchmark
+    public InventoryClickEvent routedClick() {
+        this.listener.onInventoryClick(this.event);
+
+        return this.event;
+    }
+
+    // The routing used before the early exit, every click mapped the player and copied the tag of the clicked item
+    @Benchmark
+    public Object previousClick() {
+        if (this.event.getCurrentItem() == null || !(this.event.getWhoClicked() instanceof Player player)) {
+            return null;
+        }
+
+        InventoryPlayerHolder mappedPlayer = this.players.get(player.getUniqueId());
+
+        if (this.event.getInventory().getHolder() instanceof Player || ((CraftInventory) this.event.getClickedInventory()).getInventory() instanceof InventoryWrapper) {
+            return mappedPlayer;
+        }
+
+        net.minecraft.world.item.ItemStack itemStack = CraftItemStack.asNMSCopy(this.event.getCurrentItem());
+
+        if (!itemStack.has(DataComponents.CUSTOM_DATA)) {
+            return Optional.empty();
+        }
+
+        return itemStack.get(DataComponents.CUSTOM_DATA).copyTag().getInt("inventory_api_item");
+    }
+
+    private static <T> @NotNull T stub(@NotNull Class<T> clazz, @NotNull StubHandler handler) {
+        return clazz.cast(Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]{clazz}, (proxy, method, args) -> {
+            Object result = handler.invoke(method.getName(), args);
+
+            // Proxies must return the default value of primitive types instead of null
+            if (result == null && method.getReturnType().isPrimitive() && method.getReturnType() != void.class) {
+                return Array.get(Array.newInstance(method.getReturnType(), 1), 0);
+            }
+
+            return result;
+        }));
+    }
+
+    @FunctionalInterface
+    private interface StubHandler {
+
+        Object invoke(String method, Object[] args);
+
+    }
+}
@@ -0,0 +1,83 @@
+package ovh.roro.libraries.inventory.benchmark;
+
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.CustomData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ovh.roro.libraries.inventory.impl.item.ItemImpl;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Reads the item marker of a stack, compared to the previous copyTag based read
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMarkerBenchmark {
+
+    private ItemStack markedStack;
+    private ItemStack plainStack;
+
+    @Setup
+    public void setup() {
+        MinecraftBootstrap.init();
+
+        CompoundTag tag = new CompoundTag();
+        tag.putInt(ItemImpl.ID_TAG, 42);
+
+        // Stacks usually carry data of other plugins next to the marker
+        for (int i = 0; i < 8; i++) {
+            tag.putString("other_plugin_" + i, "value " + i);
+        }
+
+        this.markedStack = new ItemStack(Items.DIAMOND);
+        this.markedStack.set(DataComponents.CUSTOM_DATA, CustomData.of(tag));
+
+        this.plainStack = new ItemStack(Items.STONE);
+    }
+
+    @Benchmark
+    public int readIdMarked() {
+        return ItemImpl.readId(this.markedStack);
+    }
+
+    @Benchmark
+    public int readIdPlain() {
+        return ItemImpl.readId(this.plainStack);
+    }
+
+    @Benchmark
+    public Optional<Integer> copyTagMarked() {
+        return ItemMarkerBenchmark.copyTag(this.markedStack);
+    }
+
+    @Benchmark
+    public Optional<Integer> copyTagPlain() {
+        return ItemMarkerBenchmark.copyTag(this.plainStack);
+    }
+
+    // The read path used before markers were read in place
+    private static Optional<Integer> copyTag(ItemStack itemStack) {
+        if (!itemStack.has(DataComponents.CUSTOM_DATA)) {
+            return Optional.empty();
+        }
+
+        CompoundTag tag = itemStack.get(DataComponents.CUSTOM_DATA).copyTag();
+
+        return tag.getInt(ItemImpl.ID_TAG);
+    }
+}
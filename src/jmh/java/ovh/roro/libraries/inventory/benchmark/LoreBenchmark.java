@@ -0,0 +1,107 @@
+package ovh.roro.libraries.inventory.benchmark;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.chat.Style;
+import net.minecraft.network.chat.contents.PlainTextContents;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ovh.roro.libraries.inventory.impl.render.LoreCollector;
+import ovh.roro.libraries.inventory.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Splits a translated description into lore lines, compared to the previous array based splitting
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoreBenchmark {
+
+    private Component description;
+
+    @Setup
+    public void setup() {
+        this.description = Component.literal("A sword forged in the depths\nof the nether.\n\n").withStyle(ChatFormatting.GRAY)
+                .append(Component.literal("Damage: ").withStyle(ChatFormatting.GRAY))
+                .append(Component.literal("12\n").withStyle(ChatFormatting.RED))
+                .append(Component.literal("Price: ").withStyle(ChatFormatting.GRAY))
+                .append(Component.literal("250 coins\n\n").withStyle(ChatFormatting.GOLD))
+                .append(Component.literal("Click to buy").withStyle(ChatFormatting.YELLOW));
+    }
+
+    @Benchmark
+    public List<Component> collector() {
+        return new LoreCollector().collect(this.description);
+    }
+
+    @Benchmark
+    public List<Component> splitArrays() {
+        List<Component> lore = new ArrayList<>();
+
+        MutableComponent lastComponent = LoreBenchmark.splitAndCollectNewlines(this.description, this.description.getStyle(), null, component -> {
+            lore.add(LoreBenchmark.removeDefaultItalic(component));
+        });
+
+        if (lastComponent != null) {
+            lore.add(LoreBenchmark.removeDefaultItalic(lastComponent));
+        }
+
+        return lore;
+    }
+
+    // The splitting used before lines were streamed into the LoreCollector
+    private static @Nullable MutableComponent splitAndCollectNewlines(Component component, Style componentStyle, @Nullable MutableComponent currentComponent, Consumer<Component> consumer) {
+        if (component.getContents() instanceof PlainTextContents contents) {
+            String text = contents.text();
+            boolean endsWithNewLine = text.endsWith("\n");
+            String[] lines = StringUtil.splitNewline(text);
+
+            for (int i = 0; i < lines.length; i++) {
+                currentComponent = LoreBenchmark.setOrAppend(currentComponent, Component.literal(lines[i]).withStyle(componentStyle));
+
+                if (endsWithNewLine || i != lines.length - 1) {
+                    consumer.accept(currentComponent);
+                    currentComponent = null;
+                }
+            }
+        } else {
+            currentComponent = LoreBenchmark.setOrAppend(currentComponent, MutableComponent.create(component.getContents()).withStyle(componentStyle));
+        }
+
+        for (Component sibling : component.getSiblings()) {
+            currentComponent = LoreBenchmark.splitAndCollectNewlines(sibling, sibling.getStyle().applyTo(componentStyle), currentComponent, consumer);
+        }
+
+        return currentComponent;
+    }
+
+    private static MutableComponent setOrAppend(@Nullable MutableComponent currentComponent, MutableComponent toAppend) {
+        if (currentComponent == null) {
+            return toAppend;
+        }
+
+        return currentComponent.append(toAppend);
+    }
+
+    private static Component removeDefaultItalic(Component component) {
+        return Component.empty()
+                .withStyle(style -> style.withItalic(false))
+                .append(component);
+    }
+}
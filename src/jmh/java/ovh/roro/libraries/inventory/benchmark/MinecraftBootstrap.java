@@ -0,0 +1,16 @@
+package ovh.roro.libraries.inventory.benchmark;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+final class MinecraftBootstrap {
+
+    private MinecraftBootstrap() {
+    }
+
+    // Binds the builtin registries, stacks and components cannot be created before
+    static void init() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+}
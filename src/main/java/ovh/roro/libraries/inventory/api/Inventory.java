@@ -13,4 +13,6 @@ public interface Inventory<T, U extends InventoryInstance<T, V>, V extends Inven
 
     @NotNull List<V> viewers();
 
+    void updateViewers();
+
 }
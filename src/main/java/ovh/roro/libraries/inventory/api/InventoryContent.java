@@ -36,6 +36,13 @@ public interface InventoryContent<T, U extends InventoryPlayerHolder> {
 
     void update(int x, int y);
 
+    /**
+     * Updates every slot in the mask
+     *
+     * @param mask the mask of the slots to update, bit {@code i} being slot {@code i}
+     */
+    void update(long mask);
+
     void layout(@NotNull Layout layout, @NotNull Item item);
 
 }
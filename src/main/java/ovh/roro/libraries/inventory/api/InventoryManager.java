@@ -15,6 +15,7 @@ import ovh.roro.libraries.inventory.api.item.Item;
 import ovh.roro.libraries.inventory.api.item.ItemBuilder;
 import ovh.roro.libraries.inventory.api.item.StaticItem;
 import ovh.roro.libraries.inventory.api.item.defaults.DefaultItemFactory;
+import ovh.roro.libraries.inventory.api.metrics.InventoryMetrics;
 import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
 import ovh.roro.libraries.language.api.Language;
 
@@ -27,6 +28,8 @@ import java.util.function.Function;
 @SuppressWarnings("rawtypes")
 public interface InventoryManager {
 
+    int NO_ITEM_ID = -1;
+
     static @NotNull InventoryManager inventoryManager() {
         return InventoryManagerImpl.LOADER.getOrCreate();
     }
@@ -41,18 +44,84 @@ public interface InventoryManager {
 
     boolean hasPreviousInventory(@NotNull InventoryPlayerHolder player);
 
+    /**
+     * Sets how many inventories are remembered per player, the oldest ones being forgotten first
+     *
+     * @param historyDepth the maximum amount of inventories remembered per player
+     */
+    void historyDepth(int historyDepth);
+
+    /**
+     * @return the amount of inventories remembered across every player
+     */
+    int historySize();
+
+    /**
+     * Updates the inventory opened by the player at the start of the next tick, updates requested
+     * for the same inventory during a tick are merged into one
+     *
+     * @param player the player to update the inventory of
+     */
     void updateInventory(@NotNull InventoryPlayerHolder player);
 
+    /**
+     * Renders again the given slots of the inventory opened by the player
+     *
+     * @param player the player to update the inventory of
+     * @param slots the indexes of the slots to render again
+     */
+    void updateSlots(@NotNull InventoryPlayerHolder player, int @NotNull ... slots);
+
     void softCloseInventory(@NotNull InventoryPlayerHolder player);
 
     boolean isRegisteredInventory(@NotNull org.bukkit.inventory.Inventory inventory);
 
     <T extends InventoryPlayerHolder> @NotNull List<T> getInventoryViewers(@NotNull Inventory<?, ?, T> inventory);
 
+    /**
+     * Updates the inventory of every viewer at the start of the next tick, see {@link #updateInventory(InventoryPlayerHolder)}
+     *
+     * @param inventory the inventory to update
+     */
+    void updateInventoryViewers(@NotNull Inventory<?, ?, ?> inventory);
+
+    /**
+     * Sets how many clicks on items of the API are handled per player and per tick, extra clicks are cancelled
+     *
+     * @param clickBudget the maximum amount of clicks handled per player and per tick
+     */
+    void clickBudget(int clickBudget);
+
+    /**
+     * @return the amount of clicks cancelled because their player exceeded the click budget
+     */
+    long droppedClicks();
+
+    /**
+     * @return the amount of inventory updates merged into an update already requested during the same tick
+     */
+    long mergedUpdates();
+
     @NotNull Optional<Item> parseItem(@Nullable ItemStack itemStack);
 
     @NotNull Optional<Item> parseItem(@Nullable net.minecraft.world.item.ItemStack itemStack);
 
+    /**
+     * Reads the item id stored in the stack without copying it
+     *
+     * @param itemStack the stack to read
+     * @return the item id, or {@link #NO_ITEM_ID} if the stack does not carry one
+     */
+    int parseItemId(@Nullable ItemStack itemStack);
+
+    /**
+     * Reads the item id stored in the stack without copying it
+     *
+     * @param itemStack the stack to read
+     * @return the item id, or {@link #NO_ITEM_ID} if the stack does not carry one
+     */
+    int parseItemId(@Nullable net.minecraft.world.item.ItemStack itemStack);
+
     <T, U extends InventoryPlayerHolder> @NotNull ClassicInventory<T, U> createInventory(@NotNull ClassicInventoryInstance<T, U> inventoryInstance);
 
     <T, U, V extends InventoryPlayerHolder> @NotNull PageableInventory<T, U, V> createPageableInventory(@NotNull PageableInventoryInstance<T, U, V> inventoryInstance);
@@ -63,6 +132,15 @@ public interface InventoryManager {
 
     <T extends InventoryPlayerHolder> @NotNull StaticItem createStaticItem(@NotNull StaticItemInstance itemInstance);
 
+    /**
+     * Removes an item from the registry, stacks carrying its id will no longer be parsed
+     *
+     * @param item the item to unregister
+     */
+    void unregisterItem(@NotNull Item item);
+
+    int registeredItemCount();
+
     @NotNull ItemBuilder createItemBuilder(@NotNull Material material);
 
     @NotNull ItemBuilder createItemBuilder(@NotNull Material material, int amount);
@@ -79,6 +157,16 @@ public interface InventoryManager {
 
     @NotNull ItemStack toBukkitStack(@NotNull ItemBuilder builder, @NotNull Language language);
 
+    /**
+     * Drops every cached render, must be called once translations are reloaded
+     */
+    void invalidateRenderCaches();
+
+    /**
+     * @return the metrics of the inventories and items of this manager
+     */
+    @NotNull InventoryMetrics metrics();
+
     @NotNull DefaultItemFactory defaultItemFactory();
 
 }
@@ -5,14 +5,40 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
 import ovh.roro.libraries.inventory.api.PageableInventory;
+import ovh.roro.libraries.inventory.api.pageable.PageSource;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
 
 @ApiStatus.NonExtendable
 public interface PaginationContext<T, U, V extends InventoryPlayerHolder> {
 
     void update(@NotNull List<U> elements);
 
+    /**
+     * Updates the elements, only the current page is fetched from the source
+     *
+     * @param source the source of the elements
+     */
+    void update(@NotNull PageSource<U> source);
+
+    /**
+     * Only displays the elements matching the filter and goes back to the first page. The filtered
+     * elements are cached until the elements are updated, so reusing the same filter instance is free
+     *
+     * @param filter the filter, or null to display every element
+     */
+    void filter(@Nullable Predicate<? super U> filter);
+
+    /**
+     * Sorts the displayed elements and goes back to the first page. The sorted order is cached
+     * until the elements are updated, filtering does not sort the elements again
+     *
+     * @param comparator the comparator, or null to keep the order of the source
+     */
+    void sort(@Nullable Comparator<? super U> comparator);
+
     void nextPage();
 
     boolean hasNextPage();
@@ -25,6 +51,11 @@ public interface PaginationContext<T, U, V extends InventoryPlayerHolder> {
 
     int maxPage();
 
+    /**
+     * @return whether elements are currently being loaded asynchronously
+     */
+    boolean isLoading();
+
     @NotNull List<U> currentElements();
 
     @Nullable T inventoryValue();
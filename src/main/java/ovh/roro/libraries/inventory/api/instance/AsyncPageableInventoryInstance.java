@@ -0,0 +1,38 @@
+package ovh.roro.libraries.inventory.api.instance;
+
+import org.bukkit.Material;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ovh.roro.libraries.inventory.api.InventoryManager;
+import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
+import ovh.roro.libraries.inventory.api.item.ItemBuilder;
+import ovh.roro.libraries.language.api.Translation;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+@ApiStatus.OverrideOnly
+public interface AsyncPageableInventoryInstance<T, U, V extends InventoryPlayerHolder> extends PageableInventoryInstance<T, U, V> {
+
+    /**
+     * Loads the elements of the inventory, the stage can be completed from any thread.
+     * Elements slots display {@link #loadingItemBuilder(InventoryManager)} until it completes.
+     *
+     * @param player the player the elements are loaded for
+     * @param value the value of the inventory
+     * @return the stage completed with the elements
+     */
+    @NotNull CompletionStage<List<U>> elementsAsync(@NotNull V player, @Nullable T value);
+
+    @Override
+    default @NotNull List<U> elements(@NotNull V player, @Nullable T value) {
+        return List.of();
+    }
+
+    default @NotNull ItemBuilder loadingItemBuilder(@NotNull InventoryManager inventoryManager) {
+        return inventoryManager.createItemBuilder(Material.GRAY_STAINED_GLASS_PANE)
+                .name(Translation.translation("inventory.api.item.pagination.loading.name"));
+    }
+
+}
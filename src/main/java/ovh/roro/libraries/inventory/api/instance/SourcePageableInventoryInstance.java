@@ -0,0 +1,31 @@
+package ovh.roro.libraries.inventory.api.instance;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
+import ovh.roro.libraries.inventory.api.pageable.PageSource;
+
+import java.util.List;
+
+@ApiStatus.OverrideOnly
+public interface SourcePageableInventoryInstance<T, U, V extends InventoryPlayerHolder> extends PageableInventoryInstance<T, U, V> {
+
+    /**
+     * Returns the source of the elements, only the elements of the displayed page are fetched from it.
+     * Used instead of {@link #elements(InventoryPlayerHolder, Object)} when the elements are too numerous to be listed at once
+     *
+     * @param player the player the elements are displayed to
+     * @param value the value of the inventory
+     * @return the source of the elements
+     */
+    @NotNull PageSource<U> source(@NotNull V player, @Nullable T value);
+
+    @Override
+    default @NotNull List<U> elements(@NotNull V player, @Nullable T value) {
+        PageSource<U> source = this.source(player, value);
+
+        return source.fetch(0, source.count());
+    }
+
+}
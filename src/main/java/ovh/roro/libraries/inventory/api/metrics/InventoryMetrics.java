@@ -0,0 +1,27 @@
+package ovh.roro.libraries.inventory.api.metrics;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+@ApiStatus.NonExtendable
+public interface InventoryMetrics {
+
+    /**
+     * @return a copy of the current metrics
+     */
+    @NotNull MetricsSnapshot snapshot();
+
+    /**
+     * Clears every histogram, hit rate and counter of the snapshot. The registered items
+     * and the history size are current values and are not affected
+     */
+    void reset();
+
+    /**
+     * Periodically logs a summary of the metrics
+     *
+     * @param ticks the interval between two summaries in ticks, or 0 to stop logging them
+     */
+    void logInterval(int ticks);
+
+}
@@ -0,0 +1,46 @@
+package ovh.roro.libraries.inventory.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * @param instances the metrics of each inventory and item instance class
+ * @param registeredItems the amount of registered items
+ * @param historySize the amount of inventories remembered across every player
+ * @param translationCacheHitRate the hit rate of the rendered names and lores cache
+ * @param sharedRenderHitRate the hit rate of the stacks shared between viewers of static slots
+ * @param bulkUpdates the amount of content packets sent instead of slot packets
+ * @param slotPacketsSaved the amount of slot packets replaced by content packets
+ * @param droppedClicks the amount of clicks dropped because of the click budget
+ * @param mergedUpdates the amount of inventory updates merged into another one
+ */
+public record MetricsSnapshot(
+        @NotNull Map<Class<?>, InstanceMetrics> instances,
+        int registeredItems,
+        int historySize,
+        double translationCacheHitRate,
+        double sharedRenderHitRate,
+        long bulkUpdates,
+        long slotPacketsSaved,
+        long droppedClicks,
+        long mergedUpdates
+) {
+
+    /**
+     * Timings of an inventory or item instance class, inventory classes record opens, elements and renders
+     * while item classes record renders through {@code toMinecraftStack} and clicks
+     *
+     * @param open the time spent opening the inventory
+     * @param elements the time spent fetching the elements of a pageable inventory
+     * @param render the time spent rendering a slot or an item
+     * @param click the time spent in the click, drop and interact handlers of an item
+     */
+    public record InstanceMetrics(
+            @NotNull TimerSnapshot open,
+            @NotNull TimerSnapshot elements,
+            @NotNull TimerSnapshot render,
+            @NotNull TimerSnapshot click
+    ) {
+    }
+}
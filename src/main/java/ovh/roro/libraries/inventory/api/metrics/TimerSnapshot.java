@@ -0,0 +1,39 @@
+package ovh.roro.libraries.inventory.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A latency histogram, bucket {@code i} counts the durations between {@code 2^(i-1)} and {@code 2^i - 1} nanoseconds
+ *
+ * @param count the amount of recorded durations
+ * @param totalNanos the sum of the recorded durations
+ * @param maxNanos the longest recorded duration
+ * @param buckets the power of two buckets of the histogram
+ */
+public record TimerSnapshot(long count, long totalNanos, long maxNanos, long @NotNull [] buckets) {
+
+    public static final int BUCKETS = 64;
+
+    public double meanNanos() {
+        return this.count == 0L ? 0.0D : this.totalNanos / (double) this.count;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 1
+     * @return the upper bound of the bucket containing the percentile
+     */
+    public long percentileNanos(double percentile) {
+        long target = (long) Math.ceil(this.count * percentile);
+        long seen = 0L;
+
+        for (int i = 0; i < this.buckets.length; i++) {
+            seen += this.buckets[i];
+
+            if (seen >= target && seen > 0L) {
+                return Math.min(this.maxNanos, i == 0 ? 0L : (1L << i) - 1L);
+            }
+        }
+
+        return this.maxNanos;
+    }
+}
@@ -0,0 +1,59 @@
+package ovh.roro.libraries.inventory.api.pageable;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A source of paginated elements, only the elements of the displayed page are fetched
+ *
+ * @param <U> the type of the elements
+ */
+public interface PageSource<U> {
+
+    /**
+     * @return the total number of elements
+     */
+    int count();
+
+    /**
+     * Fetches a range of elements
+     *
+     * @param offset the index of the first element to fetch
+     * @param limit the maximum number of elements to fetch
+     * @return the fetched elements, can contain fewer than {@code limit} elements
+     */
+    @NotNull List<U> fetch(int offset, int limit);
+
+    /**
+     * Creates a source backed by the given list, the list must not be modified while the source is in use
+     *
+     * @param elements the elements of the source
+     * @return the source
+     * @param <U> the type of the elements
+     */
+    static <U> @NotNull PageSource<U> of(@NotNull List<U> elements) {
+        return new PageSource<>() {
+            @Override
+            public int count() {
+                return elements.size();
+            }
+
+            @Override
+            public @NotNull List<U> fetch(int offset, int limit) {
+                int size = elements.size();
+
+                if (offset >= size) {
+                    return List.of();
+                }
+
+                return elements.subList(Math.max(0, offset), Math.min(size, offset + limit));
+            }
+        };
+    }
+
+    static <U> @NotNull PageSource<U> empty() {
+        return PageSource.of(List.of());
+    }
+
+}
@@ -17,6 +17,11 @@ public interface Slot<T, U extends InventoryPlayerHolder> {
 
     void item(@Nullable Item item);
 
+    /**
+     * Version of the slot, increased every time the slot needs to be rendered again
+     *
+     * @return the current version of the slot
+     */
     long hash();
 
     void update();
@@ -1,5 +1,8 @@
 package ovh.roro.libraries.inventory.impl;
 
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -9,8 +12,12 @@ import ovh.roro.libraries.inventory.api.event.InventoryOpenHandler;
 import ovh.roro.libraries.inventory.api.instance.InventoryInstance;
 import ovh.roro.libraries.inventory.api.slot.SlotType;
 import ovh.roro.libraries.inventory.impl.content.InventoryContentImpl;
+import ovh.roro.libraries.language.api.Language;
 import ovh.roro.libraries.language.api.Translation;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -23,11 +30,21 @@ public abstract class InventoryImpl<T, U extends InventoryInstance<T, V>, V exte
     protected final @Nullable InventoryOpenHandler<T, V> openHandler;
     protected final @Nullable InventoryCloseHandler<T, V> closeHandler;
 
+    private final @NotNull List<InventoryWrapper<T, U, V>> wrappers;
+
+    private @Nullable InventoryTemplate<T, V> template;
+
+    private final @NotNull Map<Language, Component> titles;
+    private @Nullable Translation cachedTitle;
+    private int titleEpoch;
+
     private boolean built;
 
     @SuppressWarnings("unchecked")
     public InventoryImpl(@NotNull U inventoryInstance, @NotNull Function<InventoryImpl<T, U, V>, InventoryContentImpl<T, V>> inventoryContentMapper) {
         this.inventoryInstance = inventoryInstance;
+        this.wrappers = new ObjectArrayList<>();
+        this.titles = new HashMap<>();
         this.inventoryContent = inventoryContentMapper.apply(this);
 
         this.openHandler = this.handler(InventoryOpenHandler.class);
@@ -53,6 +70,20 @@ public abstract class InventoryImpl<T, U extends InventoryInstance<T, V>, V exte
 
     public abstract @NotNull Translation title(@NotNull V player, @Nullable T value);
 
+    // Titles are cached per language for as long as title() returns an equal translation
+    public @NotNull Component vanillaTitle(@NotNull InventoryManagerImpl inventoryManager, @NotNull V player, @Nullable T value) {
+        Translation title = this.title(player, value);
+        int renderEpoch = inventoryManager.renderEpoch();
+
+        if (this.titleEpoch != renderEpoch || !title.equals(this.cachedTitle)) {
+            this.titles.clear();
+            this.cachedTitle = title;
+            this.titleEpoch = renderEpoch;
+        }
+
+        return this.titles.computeIfAbsent(player.language(), language -> inventoryManager.translateTitle(language, title));
+    }
+
     public abstract int rows();
 
     public abstract int maxStackSize();
@@ -63,10 +94,58 @@ public abstract class InventoryImpl<T, U extends InventoryInstance<T, V>, V exte
 
     public abstract void updateInventory(@NotNull V player, @Nullable T value);
 
+    public boolean isPlaceholder(int index, @Nullable T value) {
+        return false;
+    }
+
+    public @NotNull ItemStack placeholder(@NotNull V player) {
+        return ItemStack.EMPTY;
+    }
+
+    public long placeholderMask() {
+        return 0L;
+    }
+
+    // Compiled again when the content or the render epoch changed
+    public @NotNull InventoryTemplate<T, V> template(@NotNull InventoryManagerImpl inventoryManager) {
+        long contentVersion = this.inventoryContent.version();
+        int renderEpoch = inventoryManager.renderEpoch();
+
+        if (this.template == null || !this.template.isValid(contentVersion, renderEpoch)) {
+            this.template = new InventoryTemplate<>(this, contentVersion, renderEpoch);
+        }
+
+        return this.template;
+    }
+
+    public @Nullable ItemStack prerenderedStack(int index, @NotNull V player, @Nullable T value) {
+        return null;
+    }
+
+    // Drops the stacks rendered ahead for these slots, they are rendered from the slot again
+    public void invalidatePrerendered(long mask, @Nullable T value) {
+    }
+
+    public @NotNull Class<?> instanceClass() {
+        return this.inventoryInstance.getClass();
+    }
+
     public @NotNull InventoryContentImpl<T, V> inventoryContent() {
         return this.inventoryContent;
     }
 
+    void addWrapper(@NotNull InventoryWrapper<T, U, V> wrapper) {
+        this.wrappers.add(wrapper);
+    }
+
+    void removeWrapper(@NotNull InventoryWrapper<T, U, V> wrapper) {
+        this.wrappers.remove(wrapper);
+    }
+
+    public @NotNull List<InventoryWrapper<T, U, V>> wrappers() {
+        return this.wrappers;
+    }
+
     public @NotNull Optional<InventoryOpenHandler<T, V>> openHandler() {
         return Optional.ofNullable(this.openHandler);
     }
@@ -1,19 +1,19 @@
 package ovh.roro.libraries.inventory.impl;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheStats;
 import io.papermc.paper.adventure.PaperAdventure;
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.minecraft.Util;
 import net.minecraft.core.component.DataComponents;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.MutableComponent;
-import net.minecraft.network.chat.Style;
-import net.minecraft.network.chat.contents.PlainTextContents;
 import net.minecraft.network.protocol.game.ClientboundOpenScreenPacket;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.Container;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ChestMenu;
 import net.minecraft.world.inventory.MenuType;
@@ -27,6 +27,7 @@ import org.bukkit.craftbukkit.inventory.CraftInventory;
 import org.bukkit.craftbukkit.inventory.CraftItemStack;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -52,14 +53,20 @@ import ovh.roro.libraries.inventory.impl.confirmation.ConfirmationInventoryImpl;
 import ovh.roro.libraries.inventory.impl.item.ItemBuilderImpl;
 import ovh.roro.libraries.inventory.impl.item.ItemImpl;
 import ovh.roro.libraries.inventory.impl.item.StaticItemImpl;
+import ovh.roro.libraries.inventory.impl.hotbar.HotbarItemCache;
 import ovh.roro.libraries.inventory.impl.item.defaults.DefaultItemFactoryImpl;
+import ovh.roro.libraries.inventory.impl.listener.HotbarSlotListener;
 import ovh.roro.libraries.inventory.impl.listener.ItemDropListener;
 import ovh.roro.libraries.inventory.impl.listener.ItemInteractListener;
 import ovh.roro.libraries.inventory.impl.listener.ItemInventoryListener;
+import ovh.roro.libraries.inventory.impl.listener.PlayerQuitListener;
+import ovh.roro.libraries.inventory.impl.metrics.InventoryMetricsImpl;
 import ovh.roro.libraries.inventory.impl.pageable.PageableInventoryImpl;
 import ovh.roro.libraries.inventory.impl.pageable.item.NextItem;
 import ovh.roro.libraries.inventory.impl.pageable.item.PreviousItem;
-import ovh.roro.libraries.inventory.util.StringUtil;
+import ovh.roro.libraries.inventory.impl.refresh.RefreshScheduler;
+import ovh.roro.libraries.inventory.impl.render.LoreCollector;
+import ovh.roro.libraries.inventory.impl.render.TranslationRenderCache;
 import ovh.roro.libraries.language.api.Language;
 import ovh.roro.libraries.language.api.LanguageManager;
 import ovh.roro.libraries.language.api.Translation;
@@ -75,7 +82,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
 import java.util.function.Function;
 
 @ApiStatus.Internal
@@ -87,6 +93,9 @@ public class InventoryManagerImpl implements InventoryManager {
             InventoryManagerImpl::new
     );
 
+    private static final int DEFAULT_HISTORY_DEPTH = 16;
+    private static final int DEFAULT_CLICK_BUDGET = 4;
+
     private static final @NotNull Int2ObjectMap<MenuType<?>> ROWS_TO_MENU_TYPE = Util.make(new Int2ObjectArrayMap<>(), map -> {
         map.defaultReturnValue(null);
 
@@ -105,12 +114,29 @@ public class InventoryManagerImpl implements InventoryManager {
     private final @NotNull AtomicInteger itemIdCounter;
     private final @NotNull Int2ObjectMap<Item> itemById;
     private final @NotNull Map<UUID, Deque<InventoryAttachment>> lastInventories;
+    private int historyDepth;
+
+    private final @NotNull ReferenceLinkedOpenHashSet<InventoryWrapper<?, ?, ?>> pendingUpdates;
+    private final @NotNull Object2LongMap<UUID> clicks;
+    private int clickBudget;
+    private long droppedClicks;
+    private long mergedUpdates;
 
     private final @NotNull DefaultItemFactoryImpl defaultItemFactory;
+    private final @NotNull TranslationRenderCache translationCache;
+    private final @NotNull RefreshScheduler refreshScheduler;
+    private final @NotNull HotbarItemCache hotbarCache;
+    private final @NotNull InventoryMetricsImpl metrics;
 
     private @MonotonicNonNull Item<PaginationContext, ?> previousItem;
     private @MonotonicNonNull Item<PaginationContext, ?> nextItem;
 
+    private volatile int renderEpoch;
+
+    private long bulkUpdates;
+    private long slotPacketsSaved;
+    private long slotUpdates;
+
     private boolean registered;
     private @MonotonicNonNull Function<UUID, InventoryPlayerHolder> playerMapper;
 
@@ -120,10 +146,20 @@ public class InventoryManagerImpl implements InventoryManager {
         this.languageManager = LanguageManager.languageManager();
 
         this.itemIdCounter = new AtomicInteger(0);
-        this.itemById = new Int2ObjectArrayMap<>();
+        this.itemById = new Int2ObjectOpenHashMap<>();
         this.lastInventories = new HashMap<>();
+        this.historyDepth = InventoryManagerImpl.DEFAULT_HISTORY_DEPTH;
+
+        this.pendingUpdates = new ReferenceLinkedOpenHashSet<>();
+        this.clicks = new Object2LongOpenHashMap<>();
+        this.clickBudget = InventoryManagerImpl.DEFAULT_CLICK_BUDGET;
 
+        this.translationCache = new TranslationRenderCache(this::renderName, this::renderLore);
+        // Created before any item, items look up their timers when they are created
+        this.metrics = new InventoryMetricsImpl(this);
         this.defaultItemFactory = new DefaultItemFactoryImpl(this);
+        this.refreshScheduler = new RefreshScheduler();
+        this.hotbarCache = new HotbarItemCache(this);
     }
 
     @Override
@@ -136,56 +172,73 @@ public class InventoryManagerImpl implements InventoryManager {
         this.server.getPluginManager().registerEvents(new ItemDropListener(this), this.plugin);
         this.server.getPluginManager().registerEvents(new ItemInteractListener(this), this.plugin);
         this.server.getPluginManager().registerEvents(new ItemInventoryListener(this), this.plugin);
+        this.server.getPluginManager().registerEvents(new PlayerQuitListener(this), this.plugin);
+        this.server.getPluginManager().registerEvents(new HotbarSlotListener(this), this.plugin);
+
+        this.server.getScheduler().runTaskTimer(this.plugin, this.refreshScheduler, 1L, 1L);
+        this.server.getScheduler().runTaskTimer(this.plugin, this::flushUpdates, 1L, 1L);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T, U extends InventoryInstance<T, V>, V extends InventoryPlayerHolder> void openInventory(@NotNull Inventory<T, U, V> inventory, @NotNull V player, @Nullable T value) {
         InventoryImpl<T, U, V> inventoryImpl = (InventoryImpl<T, U, V>) inventory;
-        int rows = inventoryImpl.rows();
-        MenuType<?> menuType = InventoryManagerImpl.ROWS_TO_MENU_TYPE.get(rows);
+        long start = System.nanoTime();
 
-        if (menuType == null) {
-            throw new IllegalArgumentException("Cannot open inventory of " + rows + " rows");
-        }
+        try {
+            int rows = inventoryImpl.rows();
+            MenuType<?> menuType = InventoryManagerImpl.ROWS_TO_MENU_TYPE.get(rows);
 
-        InventoryWrapper<T, U, V> wrapper = new InventoryWrapper<>(this, player, inventoryImpl, value);
-        ServerPlayer serverPlayer = ((CraftPlayer) player.bukkitPlayer()).getHandle();
+            if (menuType == null) {
+                throw new IllegalArgumentException("Cannot open inventory of " + rows + " rows");
+            }
 
-        wrapper.inventory().ensureIsBuilt();
-        wrapper.inventory().updateInventory(player, value);
+            InventoryWrapper<T, U, V> wrapper = new InventoryWrapper<>(this, player, inventoryImpl, value);
+            ServerPlayer serverPlayer = ((CraftPlayer) player.bukkitPlayer()).getHandle();
 
-        this.lastInventories.computeIfAbsent(serverPlayer.getUUID(), uuid -> new ArrayDeque<>()).add(new InventoryAttachment<>(inventory, value));
+            wrapper.inventory().ensureIsBuilt();
+            wrapper.inventory().updateInventory(player, value);
+            wrapper.applyTemplate();
 
-        int containerCounter = serverPlayer.nextContainerCounter();
-        AbstractContainerMenu menu = CraftEventFactory.callInventoryOpenEvent(
-                serverPlayer,
-                new ChestMenu(
-                        menuType,
-                        containerCounter,
-                        serverPlayer.getInventory(),
-                        wrapper,
-                        rows
-                )
-        );
+            Deque<InventoryAttachment> history = this.lastInventories.computeIfAbsent(serverPlayer.getUUID(), uuid -> new ArrayDeque<>());
 
-        if (menu == null) {
-            return;
-        }
+            while (history.size() >= this.historyDepth) {
+                history.pollFirst();
+            }
 
-        net.kyori.adventure.text.Component title = this.languageManager.translate(player.language(), inventoryImpl.title(player, value));
+            history.add(new InventoryAttachment<>(inventory, value));
+
+            int containerCounter = serverPlayer.nextContainerCounter();
+            AbstractContainerMenu menu = CraftEventFactory.callInventoryOpenEvent(
+                    serverPlayer,
+                    new ChestMenu(
+                            menuType,
+                            containerCounter,
+                            serverPlayer.getInventory(),
+                            wrapper,
+                            rows
+                    )
+            );
+
+            if (menu == null) {
+                return;
+            }
 
-        serverPlayer.connection.send(
-                new ClientboundOpenScreenPacket(
-                        containerCounter,
-                        menuType,
-                        PaperAdventure.asVanilla(title)
-                )
-        );
+            serverPlayer.connection.send(
+                    new ClientboundOpenScreenPacket(
+                            containerCounter,
+                            menuType,
+                            inventoryImpl.vanillaTitle(this, player, value)
+                    )
+            );
 
-        serverPlayer.containerMenu = menu;
+            serverPlayer.containerMenu = menu;
 
-        serverPlayer.initMenu(menu);
+            serverPlayer.initMenu(menu);
+            wrapper.synced();
+        } finally {
+            this.metrics.instance(inventoryImpl.instanceClass()).open().record(System.nanoTime() - start);
+        }
     }
 
     @Override
@@ -233,36 +286,135 @@ public class InventoryManagerImpl implements InventoryManager {
     }
 
     @Override
-    public void updateInventory(@NotNull InventoryPlayerHolder player) {
-        AbstractContainerMenu containerMenu = ((CraftPlayer) player.bukkitPlayer()).getHandle().containerMenu;
+    public void historyDepth(int historyDepth) {
+        Preconditions.checkArgument(historyDepth > 0, "History depth must be positive");
+
+        this.historyDepth = historyDepth;
+    }
+
+    @Override
+    public int historySize() {
+        int size = 0;
+
+        for (Deque<InventoryAttachment> history : this.lastInventories.values()) {
+            size += history.size();
+        }
+
+        return size;
+    }
+
+    public void clearHistory(@NotNull UUID uuid) {
+        this.lastInventories.remove(uuid);
+    }
+
+    @Override
+    public void clickBudget(int clickBudget) {
+        Preconditions.checkArgument(clickBudget > 0, "Click budget must be positive");
+
+        this.clickBudget = clickBudget;
+    }
+
+    @Override
+    public long droppedClicks() {
+        return this.droppedClicks;
+    }
+
+    @Override
+    public long mergedUpdates() {
+        return this.mergedUpdates;
+    }
+
+    // Consumes one click of the budget of the player for the current tick, false once it is exhausted
+    public boolean tryClick(@NotNull UUID uuid) {
+        long tick = this.server.getCurrentTick();
+        long state = this.clicks.getLong(uuid);
+
+        // The tick is stored in the upper bits and the amount of clicks during that tick in the lower ones
+        long clicks = (state >>> 32) == tick ? state & 0xFFFFFFFFL : 0L;
 
-        if (!(containerMenu instanceof ChestMenu chestMenu)) {
+        if (clicks >= this.clickBudget) {
+            this.droppedClicks++;
+            return false;
+        }
+
+        this.clicks.put(uuid, tick << 32 | (clicks + 1L));
+        return true;
+    }
+
+    public void clearClicks(@NotNull UUID uuid) {
+        this.clicks.removeLong(uuid);
+    }
+
+    private void requestUpdate(@NotNull InventoryWrapper<?, ?, ?> wrapper) {
+        if (!this.pendingUpdates.add(wrapper)) {
+            this.mergedUpdates++;
+        }
+    }
+
+    private void flushUpdates() {
+        if (this.pendingUpdates.isEmpty()) {
             return;
         }
 
-        Container container = chestMenu.getContainer();
+        // Updating an inventory can request other updates, they are flushed during the next tick
+        InventoryWrapper<?, ?, ?>[] wrappers = this.pendingUpdates.toArray(new InventoryWrapper<?, ?, ?>[0]);
+        this.pendingUpdates.clear();
 
-        if (container instanceof InventoryWrapper wrapper) {
-            wrapper.updateInventory();
+        for (InventoryWrapper<?, ?, ?> wrapper : wrappers) {
+            if (wrapper.isViewing()) {
+                wrapper.updateInventory();
+            }
         }
     }
 
     @Override
-    public void softCloseInventory(@NotNull InventoryPlayerHolder player) {
-        AbstractContainerMenu containerMenu = ((CraftPlayer) player.bukkitPlayer()).getHandle().containerMenu;
+    public void updateInventory(@NotNull InventoryPlayerHolder player) {
+        InventoryWrapper<?, ?, ?> wrapper = this.openedWrapper(player);
 
-        if (!(containerMenu instanceof ChestMenu chestMenu)) {
+        if (wrapper != null) {
+            this.requestUpdate(wrapper);
+        }
+    }
+
+    @Override
+    public void updateSlots(@NotNull InventoryPlayerHolder player, int @NotNull ... slots) {
+        InventoryWrapper<?, ?, ?> wrapper = this.openedWrapper(player);
+
+        if (wrapper == null) {
             return;
         }
 
-        Container container = chestMenu.getContainer();
+        long mask = 0L;
+
+        for (int slot : slots) {
+            Preconditions.checkElementIndex(slot, wrapper.getContainerSize());
+
+            mask |= 1L << slot;
+        }
+
+        wrapper.updateSlots(mask);
+    }
+
+    @Override
+    public void softCloseInventory(@NotNull InventoryPlayerHolder player) {
+        InventoryWrapper<?, ?, ?> wrapper = this.openedWrapper(player);
 
-        if (container instanceof InventoryWrapper wrapper) {
+        if (wrapper != null) {
             wrapper.softClose();
             player.bukkitPlayer().closeInventory();
         }
     }
 
+    private @Nullable InventoryWrapper<?, ?, ?> openedWrapper(@NotNull InventoryPlayerHolder player) {
+        AbstractContainerMenu containerMenu = ((CraftPlayer) player.bukkitPlayer()).getHandle().containerMenu;
+
+        if (containerMenu instanceof ChestMenu chestMenu && chestMenu.getContainer() instanceof InventoryWrapper<?, ?, ?> wrapper) {
+            return wrapper;
+        }
+
+        return null;
+    }
+
     @Override
     public boolean isRegisteredInventory(org.bukkit.inventory.@NotNull Inventory inventory) {
         return ((CraftInventory) inventory).getInventory() instanceof InventoryWrapper<?, ?, ?>;
@@ -270,35 +422,64 @@ public class InventoryManagerImpl implements InventoryManager {
 
     @Override
     public <T extends InventoryPlayerHolder> @NotNull List<T> getInventoryViewers(@NotNull Inventory<?, ?, T> inventory) {
-        List<T> players = new ArrayList<>();
+        List<? extends InventoryWrapper<?, ?, T>> wrappers = ((InventoryImpl<?, ?, T>) inventory).wrappers();
+        List<T> players = new ArrayList<>(wrappers.size());
 
-        for (CraftPlayer player : this.server.getOnlinePlayers()) {
-            if (player.getHandle().containerMenu instanceof ChestMenu chestMenu &&
-                    chestMenu.getContainer() instanceof InventoryWrapper<?, ?, ?> wrapper && wrapper.inventory() == inventory) {
-                //noinspection unchecked
-                players.add((T) wrapper.player());
-            }
+        for (InventoryWrapper<?, ?, T> wrapper : wrappers) {
+            players.add(wrapper.player());
         }
 
         return players;
     }
 
+    @Override
+    public void updateInventoryViewers(@NotNull Inventory<?, ?, ?> inventory) {
+        List<? extends InventoryWrapper<?, ?, ?>> wrappers = ((InventoryImpl<?, ?, ?>) inventory).wrappers();
+
+        for (int i = 0; i < wrappers.size(); i++) {
+            this.requestUpdate(wrappers.get(i));
+        }
+    }
+
     @Override
     public @NotNull Optional<@NotNull Item> parseItem(@Nullable ItemStack itemStack) {
-        return this.parseItem(CraftItemStack.asNMSCopy(itemStack));
+        return Optional.ofNullable(this.findItem(itemStack));
     }
 
-    @SuppressWarnings("DataFlowIssue")
     @Override
     public @NotNull Optional<@NotNull Item> parseItem(@Nullable net.minecraft.world.item.ItemStack itemStack) {
-        if (itemStack == null || !itemStack.has(DataComponents.CUSTOM_DATA)) {
-            return Optional.empty();
+        return Optional.ofNullable(this.findItem(itemStack));
+    }
+
+    @Override
+    public int parseItemId(@Nullable ItemStack itemStack) {
+        if (itemStack == null) {
+            return InventoryManager.NO_ITEM_ID;
         }
 
-        CompoundTag tag = itemStack.get(DataComponents.CUSTOM_DATA).copyTag();
+        // Unwrapping does not copy the stack when it is backed by a minecraft stack
+        return this.parseItemId(CraftItemStack.unwrap(itemStack));
+    }
+
+    @Override
+    public int parseItemId(@Nullable net.minecraft.world.item.ItemStack itemStack) {
+        return ItemImpl.readId(itemStack);
+    }
 
-        return tag.getInt("inventory_api_item")
-                .map(id -> this.itemById.get(id.intValue()));
+    public @Nullable ItemImpl findItem(@Nullable ItemStack itemStack) {
+        return this.findItem(this.parseItemId(itemStack));
+    }
+
+    public @Nullable ItemImpl findItem(@Nullable net.minecraft.world.item.ItemStack itemStack) {
+        return this.findItem(this.parseItemId(itemStack));
+    }
+
+    public @Nullable ItemImpl findItem(int id) {
+        if (id == InventoryManager.NO_ITEM_ID) {
+            return null;
+        }
+
+        return (ItemImpl) this.itemById.get(id);
     }
 
     @Override
@@ -318,7 +499,7 @@ public class InventoryManagerImpl implements InventoryManager {
 
     @Override
     public <T, U extends InventoryPlayerHolder> @NotNull Item<T, U> createItem(@NotNull ItemInstance<T, U> itemInstance) {
-        ItemImpl<T, U> item = new ItemImpl<>(this, itemInstance, this.itemIdCounter.incrementAndGet());
+        ItemImpl<T, U> item = new ItemImpl<>(this, itemInstance, this.itemIdCounter.incrementAndGet(), this.metrics.instance(itemInstance.getClass()).click());
 
         this.itemById.put(item.id(), item);
 
@@ -327,13 +508,23 @@ public class InventoryManagerImpl implements InventoryManager {
 
     @Override
     public @NotNull StaticItem createStaticItem(@NotNull StaticItemInstance itemInstance) {
-        StaticItemImpl item = new StaticItemImpl(this, itemInstance, this.itemIdCounter.incrementAndGet());
+        StaticItemImpl item = new StaticItemImpl(this, itemInstance, this.itemIdCounter.incrementAndGet(), this.metrics.instance(itemInstance.getClass()).click());
 
         this.itemById.put(item.id(), item);
 
         return item;
     }
 
+    @Override
+    public void unregisterItem(@NotNull Item item) {
+        this.itemById.remove(((ItemImpl) item).id(), item);
+    }
+
+    @Override
+    public int registeredItemCount() {
+        return this.itemById.size();
+    }
+
     @Override
     public @NotNull ItemBuilder createItemBuilder(@NotNull Material material) {
         return this.createItemBuilder(material, 1);
@@ -356,7 +547,16 @@ public class InventoryManagerImpl implements InventoryManager {
 
     @Override
     public @NotNull <T, U extends InventoryPlayerHolder> net.minecraft.world.item.ItemStack toMinecraftStack(@NotNull Item<T, U> item, @NotNull U player, @Nullable T value) {
-        return this.toMinecraftStack(player.language(), item.instance().buildItem(player, value), item);
+        long start = System.nanoTime();
+
+        try {
+            return this.toMinecraftStack(player.language(), ((ItemImpl<T, U>) item).buildItem(player, value), item);
+        } finally {
+            // Timers are not thread safe, renders of other threads are not measured
+            if (this.server.isPrimaryThread()) {
+                this.metrics.instance(item.instance().getClass()).render().record(System.nanoTime() - start);
+            }
+        }
     }
 
     @NotNull
@@ -375,19 +575,50 @@ public class InventoryManagerImpl implements InventoryManager {
         return CraftItemStack.asCraftMirror(this.toMinecraftStack(builder, language));
     }
 
+    @Override
+    public void invalidateRenderCaches() {
+        this.renderEpoch++;
+        this.translationCache.invalidate();
+    }
+
+    public @NotNull CacheStats translationCacheStats() {
+        return this.translationCache.stats();
+    }
+
+    public int renderEpoch() {
+        return this.renderEpoch;
+    }
+
     public @NotNull net.minecraft.world.item.ItemStack toMinecraftStack(@NotNull Language language, @NotNull ItemBuilder builder, @Nullable Item item) {
+        if (item instanceof StaticItemImpl staticItem && staticItem.isCachedBuilder(builder)) {
+            return staticItem.renderedStack(this, language).copy();
+        }
+
+        return this.buildStack(language, builder, item);
+    }
+
+    // The returned stack can be shared and must not be modified
+    public @NotNull net.minecraft.world.item.ItemStack renderStack(@NotNull Language language, @NotNull ItemBuilder builder, @Nullable Item item) {
+        if (item instanceof StaticItemImpl staticItem && staticItem.isCachedBuilder(builder)) {
+            return staticItem.renderedStack(this, language);
+        }
+
+        return this.buildStack(language, builder, item);
+    }
+
+    public @NotNull net.minecraft.world.item.ItemStack buildStack(@NotNull Language language, @NotNull ItemBuilder builder, @Nullable Item item) {
         ItemBuilderImpl clonedBuilder = (ItemBuilderImpl) builder.clone();
         net.minecraft.world.item.ItemStack delegate = clonedBuilder.delegate();
 
         if (item != null) {
             CustomData.update(DataComponents.CUSTOM_DATA, delegate, compoundTag -> {
-                compoundTag.putInt("inventory_api_item", ((ItemImpl) item).id());
+                compoundTag.putInt(ItemImpl.ID_TAG, ((ItemImpl) item).id());
             });
         }
 
         Translation name = clonedBuilder.name();
         if (name != null) {
-            delegate.set(DataComponents.CUSTOM_NAME, this.removeDefaultItalic(PaperAdventure.asVanilla(this.languageManager.translate(language, name))));
+            delegate.set(DataComponents.CUSTOM_NAME, this.translationCache.name(language, name));
         }
 
         Translation[] description = clonedBuilder.description();
@@ -395,21 +626,7 @@ public class InventoryManagerImpl implements InventoryManager {
             List<Component> lore = new ArrayList<>();
 
             for (Translation translation : description) {
-                net.kyori.adventure.text.Component translatedComponent = this.languageManager.translate(language, translation);
-                Component vanillaTranslatedComponent = PaperAdventure.asVanilla(translatedComponent);
-
-                Component lastComponent = this.splitAndCollectNewlines(
-                        vanillaTranslatedComponent,
-                        vanillaTranslatedComponent.getStyle(),
-                        null,
-                        component -> {
-                            lore.add(this.removeDefaultItalic(component));
-                        }
-                );
-
-                if (lastComponent != null) {
-                    lore.add(this.removeDefaultItalic(lastComponent));
-                }
+                lore.addAll(this.translationCache.lore(language, translation));
             }
 
             if (!lore.isEmpty()) {
@@ -420,52 +637,17 @@ public class InventoryManagerImpl implements InventoryManager {
         return delegate;
     }
 
-    private @Nullable MutableComponent splitAndCollectNewlines(
-            @NotNull Component component,
-            @NotNull Style componentStyle,
-            @Nullable MutableComponent currentComponent,
-            @NotNull Consumer<net.minecraft.network.chat.Component> consumer
-    ) {
-        if (component.getContents() instanceof PlainTextContents contents) {
-            String text = contents.text();
-            boolean endsWithNewLine = text.endsWith("\n");
-            String[] lines = StringUtil.splitNewline(text);
-
-            for (int i = 0; i < lines.length; i++) {
-                String line = lines[i];
-
-                currentComponent = this.setOrAppend(currentComponent, Component.literal(line).withStyle(componentStyle));
-
-                if (endsWithNewLine || i != lines.length - 1) {
-                    consumer.accept(currentComponent);
-                    currentComponent = null;
-                }
-            }
-        } else {
-            currentComponent = this.setOrAppend(currentComponent, MutableComponent.create(component.getContents()).withStyle(componentStyle));
-        }
-
-        for (net.minecraft.network.chat.Component sibling : component.getSiblings()) {
-            currentComponent = this.splitAndCollectNewlines(sibling, sibling.getStyle().applyTo(componentStyle), currentComponent, consumer);
-        }
-
-        return currentComponent;
+    private @NotNull Component renderName(@NotNull Language language, @NotNull Translation translation) {
+        return this.removeDefaultItalic(PaperAdventure.asVanilla(this.languageManager.translate(language, translation)));
     }
 
-    private @NotNull MutableComponent setOrAppend(
-            @Nullable MutableComponent currentComponent,
-            @NotNull MutableComponent toAppend
-    ) {
-        if (currentComponent == null) {
-            return toAppend;
-        }
-
-        return currentComponent.append(toAppend);
+    private @NotNull List<Component> renderLore(@NotNull Language language, @NotNull Translation translation) {
+        return new LoreCollector().collect(PaperAdventure.asVanilla(this.languageManager.translate(language, translation)));
     }
 
     private @NotNull Component removeDefaultItalic(@NotNull Component component) {
         return Component.empty()
-                .withStyle(style -> style.withItalic(false))
+                .setStyle(LoreCollector.NON_ITALIC)
                 .append(component);
     }
 
@@ -495,6 +677,69 @@ public class InventoryManagerImpl implements InventoryManager {
         return this.nextItem;
     }
 
+    public void recordBulkUpdate(int changedSlots) {
+        this.bulkUpdates++;
+        this.slotPacketsSaved += changedSlots - 1;
+    }
+
+    public void recordSlotUpdates(int changedSlots) {
+        this.slotUpdates += changedSlots;
+    }
+
+    public long bulkUpdates() {
+        return this.bulkUpdates;
+    }
+
+    public long slotPacketsSaved() {
+        return this.slotPacketsSaved;
+    }
+
+    public long slotUpdates() {
+        return this.slotUpdates;
+    }
+
+    public void resetCounters() {
+        this.bulkUpdates = 0L;
+        this.slotPacketsSaved = 0L;
+        this.slotUpdates = 0L;
+        this.droppedClicks = 0L;
+        this.mergedUpdates = 0L;
+    }
+
+    @NotNull Component translateTitle(@NotNull Language language, @NotNull Translation title) {
+        return PaperAdventure.asVanilla(this.languageManager.translate(language, title));
+    }
+
+    // Runs immediately when already called from the main thread
+    public void runSync(@NotNull Runnable task) {
+        if (this.server.isPrimaryThread()) {
+            task.run();
+        } else {
+            this.server.getScheduler().runTask(this.plugin, task);
+        }
+    }
+
+    public void runNextTick(@NotNull Runnable task) {
+        this.server.getScheduler().runTask(this.plugin, task);
+    }
+
+    public @NotNull BukkitTask runTimer(@NotNull Runnable task, long period) {
+        return this.server.getScheduler().runTaskTimer(this.plugin, task, period, period);
+    }
+
+    public @NotNull RefreshScheduler refreshScheduler() {
+        return this.refreshScheduler;
+    }
+
+    public @NotNull HotbarItemCache hotbarCache() {
+        return this.hotbarCache;
+    }
+
+    @Override
+    public @NotNull InventoryMetricsImpl metrics() {
+        return this.metrics;
+    }
+
     public @NotNull Function<UUID, InventoryPlayerHolder> playerMapper() {
         return this.playerMapper;
     }
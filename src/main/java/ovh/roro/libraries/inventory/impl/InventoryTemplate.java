@@ -0,0 +1,90 @@
+package ovh.roro.libraries.inventory.impl;
+
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
+import ovh.roro.libraries.inventory.api.slot.Slot;
+import ovh.roro.libraries.inventory.impl.slot.AbstractSlotImpl;
+import ovh.roro.libraries.inventory.impl.slot.AttachedSlotImpl;
+import ovh.roro.libraries.language.api.Language;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// The slots of an inventory whose stacks do not depend on the viewer, rendered once per language
+// and copied into every opened wrapper
+@ApiStatus.Internal
+public class InventoryTemplate<T, V extends InventoryPlayerHolder> {
+
+    private final @NotNull InventoryImpl<T, ?, V> inventory;
+    private final long contentVersion;
+    private final int renderEpoch;
+    private final long staticMask;
+
+    private final @NotNull Map<Language, ItemStack[]> renderedStacks;
+
+    @SuppressWarnings("rawtypes")
+    InventoryTemplate(@NotNull InventoryImpl<T, ?, V> inventory, long contentVersion, int renderEpoch) {
+        this.inventory = inventory;
+        this.contentVersion = contentVersion;
+        this.renderEpoch = renderEpoch;
+
+        long placeholderMask = inventory.placeholderMask();
+        long staticMask = 0L;
+
+        for (int i = 0; i < inventory.rows() * 9; i++) {
+            Slot slot = inventory.inventoryContent().slot(i);
+
+            // Attached slots map the value of each viewer, even when their item ignores it
+            if ((placeholderMask & (1L << i)) == 0L && !(slot instanceof AttachedSlotImpl) && slot instanceof AbstractSlotImpl abstractSlot && abstractSlot.isShared() && abstractSlot.refreshInterval() == 0L) {
+                staticMask |= 1L << i;
+            }
+        }
+
+        this.staticMask = staticMask;
+        this.renderedStacks = new HashMap<>();
+    }
+
+    boolean isValid(long contentVersion, int renderEpoch) {
+        return this.contentVersion == contentVersion && this.renderEpoch == renderEpoch;
+    }
+
+    public long staticMask() {
+        return this.staticMask;
+    }
+
+    // The array and its stacks are shared and must not be modified, slots that failed to render are null
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public @Nullable ItemStack @NotNull [] stacks(@NotNull InventoryManagerImpl inventoryManager, @NotNull V player) {
+        ItemStack[] stacks = this.renderedStacks.get(player.language());
+
+        if (stacks == null) {
+            stacks = new ItemStack[this.inventory.rows() * 9];
+            Arrays.fill(stacks, ItemStack.EMPTY);
+
+            long mask = this.staticMask;
+
+            while (mask != 0L) {
+                int i = Long.numberOfTrailingZeros(mask);
+
+                mask &= mask - 1L;
+
+                AbstractSlotImpl slot = (AbstractSlotImpl) this.inventory.inventoryContent().slot(i);
+
+                try {
+                    stacks[i] = slot.renderShared(inventoryManager, player, null);
+                } catch (Exception ex) {
+                    // Left to the wrapper, which renders the slot itself and logs the error
+                    stacks[i] = null;
+                }
+            }
+
+            this.renderedStacks.put(player.language(), stacks);
+        }
+
+        return stacks;
+    }
+}
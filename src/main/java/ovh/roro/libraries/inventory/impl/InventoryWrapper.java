@@ -1,11 +1,16 @@
 package ovh.roro.libraries.inventory.impl;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.NonNullList;
 import net.minecraft.world.Container;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.ChestMenu;
 import net.minecraft.world.item.ItemStack;
 import org.bukkit.Location;
 import org.bukkit.craftbukkit.entity.CraftHumanEntity;
+import org.bukkit.craftbukkit.entity.CraftPlayer;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.inventory.InventoryHolder;
 import org.jetbrains.annotations.ApiStatus;
@@ -18,9 +23,10 @@ import ovh.roro.libraries.inventory.api.instance.InventoryInstance;
 import ovh.roro.libraries.inventory.api.item.Item;
 import ovh.roro.libraries.inventory.api.item.ItemBuilder;
 import ovh.roro.libraries.inventory.api.slot.Slot;
+import ovh.roro.libraries.inventory.impl.refresh.RefreshScheduler;
+import ovh.roro.libraries.inventory.impl.slot.AbstractSlotImpl;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Deque;
 import java.util.List;
 
@@ -29,14 +35,22 @@ public class InventoryWrapper<T, U extends InventoryInstance<T, V>, V extends In
 
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger("InventoryAPI - Wrapper");
 
+    // Above this many changed slots, one content packet is cheaper than one slot packet per change
+    private static final int BULK_UPDATE_THRESHOLD = 8;
+
     private final @NotNull InventoryManagerImpl inventoryManager;
     private final @NotNull V player;
 
     private final @NotNull NonNullList<ItemStack> itemsCache;
-    private final long @NotNull [] hash;
+    private final long allSlotsMask;
     private final @NotNull InventoryImpl<T, U, V> inventory;
     private final @Nullable T value;
 
+    private long dirtyMask;
+    private @Nullable Long2ObjectMap<RefreshScheduler.RefreshTask> refreshTasks;
+
+    private boolean bulkSending;
+    private boolean synced;
     private boolean viewing;
     private boolean softClose;
 
@@ -45,15 +59,45 @@ public class InventoryWrapper<T, U extends InventoryInstance<T, V>, V extends In
         this.player = player;
 
         this.itemsCache = NonNullList.withSize(inventory.rows() * 9, ItemStack.EMPTY);
-        this.hash = new long[this.itemsCache.size()];
+        this.allSlotsMask = this.itemsCache.size() == Long.SIZE ? -1L : (1L << this.itemsCache.size()) - 1L;
+        this.dirtyMask = this.allSlotsMask;
         this.inventory = inventory;
         this.value = value;
     }
 
     void updateInventory() {
-        Arrays.fill(this.hash, 0L);
+        this.dirtyMask = this.allSlotsMask;
 
         this.inventory.updateInventory(this.player, this.value);
+        this.applyTemplate();
+    }
+
+    void applyTemplate() {
+        InventoryTemplate<T, V> template = this.inventory.template(this.inventoryManager);
+        ItemStack[] stacks = template.stacks(this.inventoryManager, this.player);
+        long mask = template.staticMask() & this.dirtyMask;
+
+        while (mask != 0L) {
+            int i = Long.numberOfTrailingZeros(mask);
+
+            mask &= mask - 1L;
+
+            // Slots that failed to render stay dirty and are rendered by this wrapper
+            if (stacks[i] != null) {
+                this.itemsCache.set(i, stacks[i]);
+                this.dirtyMask &= ~(1L << i);
+            }
+        }
+    }
+
+    // Bit i of the mask is slot i
+    public void markDirty(long mask) {
+        this.dirtyMask |= mask & this.allSlotsMask;
+    }
+
+    public void updateSlots(long mask) {
+        this.inventory.invalidatePrerendered(mask, this.value);
+        this.markDirty(mask);
     }
 
     public @Nullable T value() {
@@ -66,7 +110,7 @@ public class InventoryWrapper<T, U extends InventoryInstance<T, V>, V extends In
 
     @Override
     public int getContainerSize() {
-        return this.hash.length;
+        return this.itemsCache.size();
     }
 
     @Override
@@ -80,28 +124,151 @@ public class InventoryWrapper<T, U extends InventoryInstance<T, V>, V extends In
         return true;
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public ItemStack getItem(int i) {
+        if (!this.bulkSending && (this.dirtyMask & (1L << i)) != 0L) {
+            this.renderDirtySlots();
+        }
+
+        return this.itemsCache.get(i);
+    }
+
+    // Every dirty slot is rendered at once, so the number of changed slots is known before the menu
+    // synchronizes them and a single content packet can be sent
+    private void renderDirtySlots() {
+        long mask = this.dirtyMask;
+        int changed = 0;
+
+        while (mask != 0L) {
+            int i = Long.numberOfTrailingZeros(mask);
+            ItemStack previous = this.itemsCache.get(i);
+
+            mask &= mask - 1L;
+
+            this.renderSlot(i);
+
+            if (!ItemStack.matches(previous, this.itemsCache.get(i))) {
+                changed++;
+            }
+        }
+
+        if (changed > InventoryWrapper.BULK_UPDATE_THRESHOLD && this.sendBulkUpdate()) {
+            this.inventoryManager.recordBulkUpdate(changed);
+        } else {
+            this.inventoryManager.recordSlotUpdates(changed);
+        }
+    }
+
+    private boolean sendBulkUpdate() {
+        // The initial synchronization of the menu already sends the whole content
+        if (!this.viewing || !this.synced) {
+            return false;
+        }
+
+        AbstractContainerMenu containerMenu = ((CraftPlayer) this.player.bukkitPlayer()).getHandle().containerMenu;
+
+        if (!(containerMenu instanceof ChestMenu chestMenu) || chestMenu.getContainer() != this) {
+            return false;
+        }
+
+        // Synchronizes the remote slots, the slot packets of this tick then find nothing to send
+        this.bulkSending = true;
+
+        try {
+            containerMenu.sendAllDataToRemote();
+        } finally {
+            this.bulkSending = false;
+        }
+
+        return true;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void renderSlot(int i) {
+        long bit = 1L << i;
+        long start = System.nanoTime();
         Slot slot = this.inventory.inventoryContent().slot(i);
 
-        if (slot.hash() != this.hash[i]) {
-            try {
+        try {
+            ItemStack stack = ItemStack.EMPTY;
+            ItemStack prerendered;
+
+            // The wrapper never modifies its stacks, so it can use the shared ones
+            if (this.inventory.isPlaceholder(i, this.value)) {
+                stack = this.inventory.placeholder(this.player);
+            } else if ((prerendered = this.inventory.prerenderedStack(i, this.player, this.value)) != null) {
+                stack = prerendered;
+            } else if (slot instanceof AbstractSlotImpl abstractSlot && abstractSlot.isShared()) {
+                stack = abstractSlot.renderShared(this.inventoryManager, this.player, this.value);
+            } else {
                 ItemBuilder item = slot.createItem(this.player, this.value);
-                ItemStack stack = ItemStack.EMPTY;
 
                 if (item != null) {
-                    stack = this.inventoryManager.toMinecraftStack(this.player.language(), item, slot.item());;
+                    stack = this.inventoryManager.renderStack(this.player.language(), item, slot.item());
                 }
+            }
+
+            this.itemsCache.set(i, stack);
+            this.dirtyMask &= ~bit;
 
-                this.itemsCache.set(i, stack);
-                this.hash[i] = slot.hash();
-            } catch (Exception ex) {
-                InventoryWrapper.LOGGER.error("An error occurred while creating minecraft stack", ex);
+            if (slot instanceof AbstractSlotImpl abstractSlot && abstractSlot.refreshInterval() > 0L) {
+                this.scheduleRefresh(abstractSlot.refreshInterval());
             }
+        } catch (Exception ex) {
+            InventoryWrapper.LOGGER.error("An error occurred while creating minecraft stack", ex);
         }
 
-        return this.itemsCache.get(i);
+        this.inventoryManager.metrics().instance(this.inventory.instanceClass()).render().record(System.nanoTime() - start);
+    }
+
+    private void scheduleRefresh(long interval) {
+        if (!this.viewing) {
+            return;
+        }
+
+        if (this.refreshTasks == null) {
+            this.refreshTasks = new Long2ObjectOpenHashMap<>();
+        }
+
+        if (!this.refreshTasks.containsKey(interval)) {
+            this.refreshTasks.put(interval, this.inventoryManager.refreshScheduler().schedule(this, interval));
+        }
+    }
+
+    private void cancelRefreshes() {
+        if (this.refreshTasks == null) {
+            return;
+        }
+
+        for (RefreshScheduler.RefreshTask task : this.refreshTasks.values()) {
+            task.cancel();
+        }
+
+        this.refreshTasks.clear();
+    }
+
+    // Returns whether at least one slot still uses this interval
+    @SuppressWarnings("rawtypes")
+    public boolean refresh(long interval) {
+        long mask = 0L;
+
+        for (int i = 0; i < this.itemsCache.size(); i++) {
+            if (this.inventory.inventoryContent().slot(i) instanceof AbstractSlotImpl slot && slot.refreshInterval() == interval) {
+                mask |= 1L << i;
+            }
+        }
+
+        if (mask == 0L) {
+            if (this.refreshTasks != null) {
+                this.refreshTasks.remove(interval);
+            }
+
+            return false;
+        }
+
+        this.markDirty(mask);
+
+        return true;
     }
 
     @Override
@@ -116,7 +283,7 @@ public class InventoryWrapper<T, U extends InventoryInstance<T, V>, V extends In
 
     @Override
     public void setItem(int slot, ItemStack itemStack) {
-        this.inventory.inventoryContent().item(slot, this.inventoryManager.createStaticItem(() -> this.inventoryManager.fromLegacy(itemStack)));
+        this.inventory.inventoryContent().ownedItem(slot, this.inventoryManager.createStaticItem(() -> this.inventoryManager.fromLegacy(itemStack)));
     }
 
     @Override
@@ -136,14 +303,14 @@ public class InventoryWrapper<T, U extends InventoryInstance<T, V>, V extends In
     @SuppressWarnings("rawtypes")
     @Override
     public void clearContent() {
-        for (int i = 0; i < this.hash.length; i++) {
+        for (int i = 0; i < this.itemsCache.size(); i++) {
             this.inventory.inventoryContent().item(i, (Item) null);
         }
     }
 
     @Override
     public List<ItemStack> getContents() {
-        int size = this.hash.length;
+        int size = this.itemsCache.size();
         List<ItemStack> items = new ArrayList<>(size);
 
         for (int i = 0; i < size; i++) {
@@ -160,6 +327,13 @@ public class InventoryWrapper<T, U extends InventoryInstance<T, V>, V extends In
         }
 
         this.viewing = true;
+        this.inventory.addWrapper(this);
+
+        for (int i = 0; i < this.itemsCache.size(); i++) {
+            if (this.inventory.inventoryContent().slot(i) instanceof AbstractSlotImpl<?, ?> slot && slot.refreshInterval() > 0L) {
+                this.scheduleRefresh(slot.refreshInterval());
+            }
+        }
 
         this.inventory.openHandler().ifPresent(handler -> {
             handler.onOpen(this.player, this.value);
@@ -174,6 +348,8 @@ public class InventoryWrapper<T, U extends InventoryInstance<T, V>, V extends In
         }
 
         this.viewing = false;
+        this.inventory.removeWrapper(this);
+        this.cancelRefreshes();
 
         if (this.softClose) {
             return;
@@ -213,6 +389,14 @@ public class InventoryWrapper<T, U extends InventoryInstance<T, V>, V extends In
         return null;
     }
 
+    void synced() {
+        this.synced = true;
+    }
+
+    public boolean isViewing() {
+        return this.viewing;
+    }
+
     public void softClose() {
         this.softClose = true;
     }
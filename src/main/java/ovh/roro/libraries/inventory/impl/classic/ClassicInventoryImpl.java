@@ -35,6 +35,11 @@ public class ClassicInventoryImpl<T, U extends InventoryPlayerHolder> extends In
         return this.inventoryManager.getInventoryViewers(this);
     }
 
+    @Override
+    public void updateViewers() {
+        this.inventoryManager.updateInventoryViewers(this);
+    }
+
     @Override
     public @NotNull Translation title(@NotNull U player, @Nullable T value) {
         return this.inventoryInstance.title(player, value);
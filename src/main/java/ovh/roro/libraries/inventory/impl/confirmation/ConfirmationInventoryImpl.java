@@ -23,6 +23,8 @@ import java.util.List;
 @ApiStatus.Internal
 public class ConfirmationInventoryImpl<T, U extends InventoryPlayerHolder> extends InventoryImpl<ConfirmationContext<T, U>, ConfirmationInventoryInstance<T, U>, U> implements ConfirmationInventory<T, U> {
 
+    private static final @NotNull Translation TITLE = Translation.translation("inventory.api.inventory.confirmation.title");
+
     private final @NotNull InventoryManager inventoryManager;
 
     public ConfirmationInventoryImpl(@NotNull InventoryManager inventoryManager, @NotNull ConfirmationInventoryInstance<T, U> inventoryInstance) {
@@ -41,9 +43,14 @@ public class ConfirmationInventoryImpl<T, U extends InventoryPlayerHolder> exten
         return this.inventoryManager.getInventoryViewers(this);
     }
 
+    @Override
+    public void updateViewers() {
+        this.inventoryManager.updateInventoryViewers(this);
+    }
+
     @Override
     public @NotNull Translation title(@NotNull U player, @Nullable ConfirmationContext<T, U> value) {
-        return Translation.translation("inventory.api.inventory.confirmation.title");
+        return ConfirmationInventoryImpl.TITLE;
     }
 
     @Override
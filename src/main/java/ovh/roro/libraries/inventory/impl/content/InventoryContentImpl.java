@@ -12,6 +12,8 @@ import ovh.roro.libraries.inventory.api.item.Item;
 import ovh.roro.libraries.inventory.api.layout.Layout;
 import ovh.roro.libraries.inventory.api.slot.Slot;
 import ovh.roro.libraries.inventory.impl.InventoryImpl;
+import ovh.roro.libraries.inventory.impl.InventoryWrapper;
+import ovh.roro.libraries.inventory.impl.slot.AbstractSlotImpl;
 import ovh.roro.libraries.inventory.impl.slot.AttachedSlotImpl;
 import ovh.roro.libraries.inventory.impl.slot.StaticSlotImpl;
 
@@ -29,6 +31,10 @@ public class InventoryContentImpl<T, U extends InventoryPlayerHolder> implements
     protected @Nullable Item layoutItem;
 
     protected final @NotNull Slot @NotNull [] slots;
+    protected final @Nullable Item @NotNull [] ownedItems;
+
+    // Bumped on every slot change, used to know when the template of the inventory is outdated
+    private long version;
 
     public InventoryContentImpl(@NotNull InventoryManager inventoryManager, @NotNull InventoryImpl<T, ?, U> inventory) {
         this.inventoryManager = inventoryManager;
@@ -36,12 +42,20 @@ public class InventoryContentImpl<T, U extends InventoryPlayerHolder> implements
         this.inventory = inventory;
 
         this.slots = new Slot[inventory.rows() * 9];
+        this.ownedItems = new Item[this.slots.length];
 
         for (int i = 0; i < this.slots.length; i++) {
-            this.slots[i] = this.createSlot(i);
+            this.slots[i] = this.attach(this.createSlot(i), i);
         }
     }
 
+    @NotNull
+    private Slot attach(@NotNull Slot slot, int index) {
+        ((AbstractSlotImpl) slot).attach(this, index);
+
+        return slot;
+    }
+
     @NotNull
     protected Slot createSlot(int index) {
         return this.inventory.slotType(index).createSlot();
@@ -61,12 +75,36 @@ public class InventoryContentImpl<T, U extends InventoryPlayerHolder> implements
     @Override
     public void item(int index, @Nullable Item item) {
         this.slots[index].item(item);
+
+        Item ownedItem = this.ownedItems[index];
+
+        // Release the item minted by this content once it is no longer used by its slot
+        if (ownedItem != null && ownedItem != item) {
+            this.ownedItems[index] = null;
+            this.inventoryManager.unregisterItem(ownedItem);
+        }
     }
 
-    @SuppressWarnings({"ConstantConditions", "unchecked"})
+    @SuppressWarnings("unchecked")
     @Override
     public void item(int index, @Nullable ItemInstance item) {
-        this.item(index, this.inventoryManager.createItem(item));
+        if (item == null) {
+            this.item(index, (Item) null);
+            return;
+        }
+
+        Item ownedItem = this.ownedItems[index];
+
+        if (ownedItem == null || ownedItem.instance() != item) {
+            ownedItem = this.inventoryManager.createItem(item);
+        }
+
+        this.ownedItem(index, ownedItem);
+    }
+
+    public void ownedItem(int index, @NotNull Item item) {
+        this.item(index, item);
+        this.ownedItems[index] = item;
     }
 
     @Override
@@ -74,10 +112,9 @@ public class InventoryContentImpl<T, U extends InventoryPlayerHolder> implements
         this.item(y * 9 + x, item);
     }
 
-    @SuppressWarnings({"ConstantConditions", "unchecked"})
     @Override
     public void item(int x, int y, @Nullable ItemInstance item) {
-        this.item(x, y, this.inventoryManager.createItem(item));
+        this.item(y * 9 + x, item);
     }
 
     @SuppressWarnings("unchecked")
@@ -107,6 +144,27 @@ public class InventoryContentImpl<T, U extends InventoryPlayerHolder> implements
         this.update(y * 9 + x);
     }
 
+    @Override
+    public void update(long mask) {
+        for (int i = 0; i < this.slots.length; i++) {
+            if ((mask & (1L << i)) != 0L) {
+                this.slots[i].update();
+            }
+        }
+    }
+
+    public long version() {
+        return this.version;
+    }
+
+    public void markDirty(long mask) {
+        this.version++;
+
+        for (InventoryWrapper<T, ?, U> wrapper : this.inventory.wrappers()) {
+            wrapper.markDirty(mask);
+        }
+    }
+
     @Override
     public void layout(@NotNull Layout layout, @NotNull Item item) {
         Preconditions.checkArgument(this.layout == null, "Only one layout can be applied at a time");
@@ -119,11 +177,11 @@ public class InventoryContentImpl<T, U extends InventoryPlayerHolder> implements
                 continue;
             }
 
-            Slot slot = new StaticSlotImpl();
-
-            slot.item(item);
+            Slot slot = this.attach(new StaticSlotImpl(), i);
 
             this.slots[i] = slot;
+
+            slot.item(item);
         }
     }
 
@@ -0,0 +1,44 @@
+package ovh.roro.libraries.inventory.impl.context;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import ovh.roro.libraries.inventory.api.pageable.PageSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A view over a list of elements through an array of indexes, used for sorted and filtered elements
+@ApiStatus.Internal
+public class IndexedPageSource<U> implements PageSource<U> {
+
+    private final @NotNull List<U> elements;
+    private final int @NotNull [] indexes;
+
+    public IndexedPageSource(@NotNull List<U> elements, int @NotNull [] indexes) {
+        this.elements = elements;
+        this.indexes = indexes;
+    }
+
+    @Override
+    public int count() {
+        return this.indexes.length;
+    }
+
+    @Override
+    public @NotNull List<U> fetch(int offset, int limit) {
+        int start = Math.max(0, offset);
+        int end = Math.min(this.indexes.length, offset + limit);
+
+        if (start >= end) {
+            return List.of();
+        }
+
+        List<U> elements = new ArrayList<>(end - start);
+
+        for (int i = start; i < end; i++) {
+            elements.add(this.elements.get(this.indexes[i]));
+        }
+
+        return elements;
+    }
+}
@@ -1,31 +1,60 @@
 package ovh.roro.libraries.inventory.impl.context;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
 import ovh.roro.libraries.inventory.api.PageableInventory;
 import ovh.roro.libraries.inventory.api.context.PaginationContext;
+import ovh.roro.libraries.inventory.api.pageable.PageSource;
+import ovh.roro.libraries.inventory.impl.pageable.PageableInventoryImpl;
+import ovh.roro.libraries.language.api.Language;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
 
 @ApiStatus.Internal
 public class PaginationContextImpl<T, U, V extends InventoryPlayerHolder> implements PaginationContext<T, U, V> {
 
+    // The current page and its two neighbours
+    private static final int MAX_CACHED_PAGES = 3;
+
     private final int elementsPerPage;
-    private final @NotNull List<@NotNull U> elements;
     private final @NotNull List<@NotNull U> currentElements;
 
     private final @NotNull PageableInventory<T, U, V> inventory;
     private final @Nullable T inventoryValue;
 
+    private @NotNull PageSource<U> baseSource;
+    private @Nullable List<U> baseElements;
+
+    private @Nullable Comparator<? super U> comparator;
+    private int @Nullable [] sortedIndexes;
+    private @Nullable Predicate<? super U> filter;
+    private int @Nullable [] filteredIndexes;
+
+    private @NotNull PageSource<U> source;
+    private final @NotNull Int2ObjectMap<CachedPage<U>> cachedPages;
+    private boolean prefetchScheduled;
+
     private int maxPage;
     private int currentPage;
 
+    private int loadingToken;
+    private boolean loading;
+
     public PaginationContextImpl(int elementsPerPage, @NotNull PageableInventory<T, U, V> inventory, @Nullable T inventoryValue, int page) {
         this.elementsPerPage = elementsPerPage;
-        this.elements = new ArrayList<>();
+        this.baseSource = PageSource.empty();
+        this.source = this.baseSource;
+        this.cachedPages = new Int2ObjectOpenHashMap<>(PaginationContextImpl.MAX_CACHED_PAGES + 1);
         this.currentElements = new ArrayList<>(elementsPerPage);
 
         this.inventory = inventory;
@@ -35,15 +64,186 @@ public class PaginationContextImpl<T, U, V extends InventoryPlayerHolder> implem
 
     @Override
     public void update(@NotNull List<U> elements) {
-        this.elements.clear();
-        this.elements.addAll(elements);
+        // The caller can keep modifying its list, pages must not shift under the viewers
+        this.update(PageSource.of(new ArrayList<>(elements)));
+    }
+
+    @Override
+    public void update(@NotNull PageSource<U> source) {
+        this.baseSource = source;
+        this.baseElements = null;
+        this.sortedIndexes = null;
+        this.filteredIndexes = null;
+
+        this.applySource();
+    }
+
+    @Override
+    public void filter(@Nullable Predicate<? super U> filter) {
+        if (this.filter == filter) {
+            return;
+        }
+
+        this.filter = filter;
+        this.filteredIndexes = null;
+        this.currentPage = 0;
+
+        this.applySource();
+        this.pageChanged();
+    }
+
+    @Override
+    public void sort(@Nullable Comparator<? super U> comparator) {
+        if (this.comparator == comparator) {
+            return;
+        }
+
+        this.comparator = comparator;
+        this.sortedIndexes = null;
+        this.filteredIndexes = null;
+        this.currentPage = 0;
+
+        this.applySource();
+        this.pageChanged();
+    }
+
+    private void applySource() {
+        this.source = this.view();
+        this.cachedPages.clear();
 
-        this.maxPage = (int) Math.ceil(elements.size() / (double) this.elementsPerPage);
+        this.maxPage = (int) Math.ceil(this.source.count() / (double) this.elementsPerPage);
         this.currentPage = Math.min(this.maxPage, Math.max(0, this.currentPage));
 
         this.updateCurrentElements();
     }
 
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void pageChanged() {
+        if (this.inventory instanceof PageableInventoryImpl pageableInventory) {
+            pageableInventory.pageChanged(this);
+        }
+    }
+
+    private @NotNull PageSource<U> view() {
+        if (this.comparator == null && this.filter == null) {
+            return this.baseSource;
+        }
+
+        // Sorting and filtering need every element, they are only fetched once per update
+        if (this.baseElements == null) {
+            this.baseElements = this.baseSource.fetch(0, this.baseSource.count());
+        }
+
+        List<U> elements = this.baseElements;
+
+        if (this.comparator != null && this.sortedIndexes == null) {
+            Comparator<? super U> comparator = this.comparator;
+            int[] sortedIndexes = new int[elements.size()];
+
+            for (int i = 0; i < sortedIndexes.length; i++) {
+                sortedIndexes[i] = i;
+            }
+
+            // Merge sort is stable, elements comparing equal keep the order of the source
+            IntArrays.mergeSort(sortedIndexes, (first, second) -> comparator.compare(elements.get(first), elements.get(second)));
+
+            this.sortedIndexes = sortedIndexes;
+        }
+
+        if (this.filter != null && this.filteredIndexes == null) {
+            IntArrayList filteredIndexes = new IntArrayList();
+            int size = this.sortedIndexes != null ? this.sortedIndexes.length : elements.size();
+
+            for (int i = 0; i < size; i++) {
+                int index = this.sortedIndexes != null ? this.sortedIndexes[i] : i;
+
+                if (this.filter.test(elements.get(index))) {
+                    filteredIndexes.add(index);
+                }
+            }
+
+            this.filteredIndexes = filteredIndexes.toIntArray();
+        }
+
+        if (this.filteredIndexes != null) {
+            return new IndexedPageSource<>(elements, this.filteredIndexes);
+        }
+
+        return new IndexedPageSource<>(elements, this.sortedIndexes);
+    }
+
+    // Discards any load still in progress
+    public int startLoading() {
+        this.loading = true;
+
+        return ++this.loadingToken;
+    }
+
+    // Returns false if a newer load was started
+    public boolean completeLoading(int token, @NotNull List<U> elements) {
+        if (token != this.loadingToken) {
+            return false;
+        }
+
+        this.loading = false;
+        this.update(elements);
+
+        return true;
+    }
+
+    @Override
+    public boolean isLoading() {
+        return this.loading;
+    }
+
+    // Only the pages closest to the current one are kept cached
+    public @NotNull CachedPage<U> page(int page) {
+        CachedPage<U> cachedPage = this.cachedPages.get(page);
+
+        if (cachedPage != null) {
+            return cachedPage;
+        }
+
+        cachedPage = new CachedPage<>(this.source.fetch(page * this.elementsPerPage, this.elementsPerPage));
+
+        this.cachedPages.put(page, cachedPage);
+
+        while (this.cachedPages.size() > PaginationContextImpl.MAX_CACHED_PAGES) {
+            int farthestPage = page;
+
+            for (int cached : this.cachedPages.keySet()) {
+                if (Math.abs(cached - this.currentPage) > Math.abs(farthestPage - this.currentPage)) {
+                    farthestPage = cached;
+                }
+            }
+
+            this.cachedPages.remove(farthestPage);
+        }
+
+        return cachedPage;
+    }
+
+    // The element is rendered again on every cached page, its slot was updated without changing its version
+    public void invalidateStacks(int elementIndex) {
+        for (CachedPage<U> cachedPage : this.cachedPages.values()) {
+            cachedPage.invalidate(elementIndex);
+        }
+    }
+
+    // Returns false if the prefetch was already scheduled
+    public boolean schedulePrefetch() {
+        if (this.prefetchScheduled) {
+            return false;
+        }
+
+        this.prefetchScheduled = true;
+        return true;
+    }
+
+    public void prefetchDone() {
+        this.prefetchScheduled = false;
+    }
+
     @Override
     public void nextPage() {
         this.changePage(1);
@@ -102,13 +302,58 @@ public class PaginationContextImpl<T, U, V extends InventoryPlayerHolder> implem
     }
 
     private void updateCurrentElements() {
-        int startIndex = this.currentPage * this.elementsPerPage;
-        int endIndex = Math.min(startIndex + this.elementsPerPage, this.elements.size());
+        List<U> elements = this.page(this.currentPage).elements();
 
         this.currentElements.clear();
 
-        for (int i = startIndex; i < endIndex; i++) {
-            this.currentElements.add(this.elements.get(i));
+        for (int i = 0, size = Math.min(elements.size(), this.elementsPerPage); i < size; i++) {
+            this.currentElements.add(elements.get(i));
+        }
+    }
+
+    // A fetched page and the stacks rendered from its elements
+    public static final class CachedPage<U> {
+
+        private final @NotNull List<U> elements;
+
+        private @Nullable Language language;
+        private int renderEpoch;
+        private ItemStack @Nullable [] stacks;
+        private long @Nullable [] versions;
+
+        private CachedPage(@NotNull List<U> elements) {
+            this.elements = new ArrayList<>(elements);
+        }
+
+        public @NotNull List<U> elements() {
+            return this.elements;
+        }
+
+        // Null when the stack must be rendered again
+        public @Nullable ItemStack stack(int index, @NotNull Language language, int renderEpoch, long version) {
+            if (this.stacks == null || this.versions == null || this.language != language || this.renderEpoch != renderEpoch || this.versions[index] != version) {
+                return null;
+            }
+
+            return this.stacks[index];
+        }
+
+        public void invalidate(int index) {
+            if (this.stacks != null) {
+                this.stacks[index] = null;
+            }
+        }
+
+        public void stack(int index, @NotNull Language language, int renderEpoch, long version, @NotNull ItemStack stack, int size) {
+            if (this.stacks == null || this.versions == null || this.language != language || this.renderEpoch != renderEpoch) {
+                this.language = language;
+                this.renderEpoch = renderEpoch;
+                this.stacks = new ItemStack[size];
+                this.versions = new long[size];
+            }
+
+            this.stacks[index] = stack;
+            this.versions[index] = version;
         }
     }
 }
@@ -0,0 +1,79 @@
+package ovh.roro.libraries.inventory.impl.hotbar;
+
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ovh.roro.libraries.inventory.api.InventoryManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Caches the item ids of the hotbar and offhand stacks of each player. A slot is parsed again
+// when it holds another stack instance or when its content changed
+@ApiStatus.Internal
+public class HotbarItemCache {
+
+    public static final int OFFHAND_SLOT = 9;
+
+    private static final int SLOTS = 10;
+    private static final int INVENTORY_OFFHAND_SLOT = 40;
+
+    private final @NotNull InventoryManager inventoryManager;
+    private final @NotNull Map<UUID, PlayerSlots> players;
+
+    public HotbarItemCache(@NotNull InventoryManager inventoryManager) {
+        this.inventoryManager = inventoryManager;
+        this.players = new HashMap<>();
+    }
+
+    // -1 when the slot is not cached
+    public static int cacheSlot(int inventorySlot) {
+        if (inventorySlot >= 0 && inventorySlot < HotbarItemCache.OFFHAND_SLOT) {
+            return inventorySlot;
+        }
+
+        return inventorySlot == HotbarItemCache.INVENTORY_OFFHAND_SLOT ? HotbarItemCache.OFFHAND_SLOT : -1;
+    }
+
+    public int itemId(@NotNull UUID uuid, int slot, @Nullable ItemStack itemStack) {
+        if (itemStack == null || slot < 0 || slot >= HotbarItemCache.SLOTS) {
+            return this.inventoryManager.parseItemId(itemStack);
+        }
+
+        PlayerSlots playerSlots = this.players.get(uuid);
+
+        if (playerSlots == null) {
+            playerSlots = new PlayerSlots();
+
+            this.players.put(uuid, playerSlots);
+        }
+
+        if (playerSlots.stacks[slot] != itemStack) {
+            playerSlots.stacks[slot] = itemStack;
+            playerSlots.ids[slot] = this.inventoryManager.parseItemId(itemStack);
+        }
+
+        return playerSlots.ids[slot];
+    }
+
+    public void invalidate(@NotNull UUID uuid, int slot) {
+        PlayerSlots playerSlots = this.players.get(uuid);
+
+        if (playerSlots != null && slot >= 0 && slot < HotbarItemCache.SLOTS) {
+            playerSlots.stacks[slot] = null;
+        }
+    }
+
+    public void clear(@NotNull UUID uuid) {
+        this.players.remove(uuid);
+    }
+
+    private static final class PlayerSlots {
+
+        // Stacks are only compared by identity, a stack modified in place is invalidated by its slot change event
+        private final @Nullable ItemStack @NotNull [] stacks = new ItemStack[HotbarItemCache.SLOTS];
+        private final int @NotNull [] ids = new int[HotbarItemCache.SLOTS];
+    }
+}
@@ -1,14 +1,20 @@
 package ovh.roro.libraries.inventory.impl.item;
 
 import net.minecraft.core.component.DataComponents;
-import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.component.CustomData;
+import org.bukkit.block.Block;
 import org.bukkit.craftbukkit.inventory.CraftItemStack;
+import org.bukkit.event.block.Action;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ovh.roro.libraries.inventory.api.InventoryManager;
 import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
+import ovh.roro.libraries.inventory.api.annotation.ItemDroppable;
+import ovh.roro.libraries.inventory.api.annotation.ItemInteractionSettings;
+import ovh.roro.libraries.inventory.api.annotation.ItemMovable;
+import ovh.roro.libraries.inventory.api.annotation.ItemRefresh;
 import ovh.roro.libraries.inventory.api.event.item.click.ItemLeftClickHandler;
 import ovh.roro.libraries.inventory.api.event.item.click.ItemRightClickHandler;
 import ovh.roro.libraries.inventory.api.event.item.drop.ItemDropHandler;
@@ -18,17 +24,40 @@ import ovh.roro.libraries.inventory.api.event.item.interact.ItemInteractRightCli
 import ovh.roro.libraries.inventory.api.instance.ItemInstance;
 import ovh.roro.libraries.inventory.api.item.Item;
 import ovh.roro.libraries.inventory.api.item.ItemBuilder;
-
-import java.util.Objects;
-import java.util.Optional;
+import ovh.roro.libraries.inventory.impl.metrics.Timer;
 
 @ApiStatus.Internal
 public class ItemImpl<T, U extends InventoryPlayerHolder> implements Item<T, U> {
 
+    public static final @NotNull String ID_TAG = "inventory_api_item";
+
+    public static final int LEFT_CLICK = 0;
+    public static final int RIGHT_CLICK = 1;
+    public static final int INVENTORY_DROP = 2;
+    public static final int DROP = 3;
+    public static final int INTERACT_LEFT_CLICK = 4;
+    public static final int INTERACT_RIGHT_CLICK = 5;
+
+    private static final int FLAG_MOVABLE = 1;
+    private static final int FLAG_DROPPABLE = 1 << 1;
+
+    private static final int INTERACT_LEFT_CLICK_AIR = 1;
+    private static final int INTERACT_LEFT_CLICK_BLOCK = 1 << 1;
+    private static final int INTERACT_RIGHT_CLICK_AIR = 1 << 2;
+    private static final int INTERACT_RIGHT_CLICK_BLOCK = 1 << 3;
+
     private final @NotNull InventoryManager inventoryManager;
 
     private final @NotNull ItemInstance<T, U> itemInstance;
     private final int id;
+    private final long refreshInterval;
+
+    // Resolved from the annotations of the instance once, listeners only read these
+    private final int flags;
+    private final int interactionMask;
+
+    // Bit i is set when the handler of kind i is implemented by the instance
+    private final int handlerMask;
 
     private final @Nullable ItemDropHandler<U> dropHandler;
     private final @Nullable ItemInventoryDropHandler<T, U> inventoryDropHandler;
@@ -39,12 +68,20 @@ public class ItemImpl<T, U extends InventoryPlayerHolder> implements Item<T, U>
     private final @Nullable ItemInteractLeftClickHandler<U> interactLeftClickHandler;
     private final @Nullable ItemInteractRightClickHandler<U> interactRightClickHandler;
 
+    private final @NotNull Timer clickTimer;
+
     @SuppressWarnings("unchecked")
-    public ItemImpl(@NotNull InventoryManager inventoryManager, @NotNull ItemInstance<T, U> itemInstance, int id) {
+    public ItemImpl(@NotNull InventoryManager inventoryManager, @NotNull ItemInstance<T, U> itemInstance, int id, @NotNull Timer clickTimer) {
         this.inventoryManager = inventoryManager;
 
         this.itemInstance = itemInstance;
         this.id = id;
+        this.clickTimer = clickTimer;
+
+        ItemRefresh refresh = itemInstance.getClass().getAnnotation(ItemRefresh.class);
+        this.refreshInterval = refresh == null ? 0L : Math.max(0L, refresh.value());
+        this.flags = ItemImpl.resolveFlags(itemInstance.getClass());
+        this.interactionMask = ItemImpl.resolveInteractionMask(itemInstance.getClass().getAnnotation(ItemInteractionSettings.class));
 
         this.dropHandler = this.handler(ItemDropHandler.class);
         this.inventoryDropHandler = this.handler(ItemInventoryDropHandler.class);
@@ -54,6 +91,69 @@ public class ItemImpl<T, U extends InventoryPlayerHolder> implements Item<T, U>
 
         this.interactLeftClickHandler = this.handler(ItemInteractLeftClickHandler.class);
         this.interactRightClickHandler = this.handler(ItemInteractRightClickHandler.class);
+
+        this.handlerMask = (this.leftClickHandler != null ? 1 << ItemImpl.LEFT_CLICK : 0)
+                | (this.rightClickHandler != null ? 1 << ItemImpl.RIGHT_CLICK : 0)
+                | (this.inventoryDropHandler != null ? 1 << ItemImpl.INVENTORY_DROP : 0)
+                | (this.dropHandler != null ? 1 << ItemImpl.DROP : 0)
+                | (this.interactLeftClickHandler != null ? 1 << ItemImpl.INTERACT_LEFT_CLICK : 0)
+                | (this.interactRightClickHandler != null ? 1 << ItemImpl.INTERACT_RIGHT_CLICK : 0);
+    }
+
+    @SuppressWarnings("deprecation")
+    public static int readId(@Nullable net.minecraft.world.item.ItemStack itemStack) {
+        if (itemStack == null) {
+            return InventoryManager.NO_ITEM_ID;
+        }
+
+        CustomData customData = itemStack.get(DataComponents.CUSTOM_DATA);
+
+        if (customData == null) {
+            return InventoryManager.NO_ITEM_ID;
+        }
+
+        // The tag is only read here, so there is no need to copy it
+        return customData.getUnsafe().getIntOr(ItemImpl.ID_TAG, InventoryManager.NO_ITEM_ID);
+    }
+
+    private static int resolveFlags(@NotNull Class<?> clazz) {
+        int flags = 0;
+
+        if (clazz.isAnnotationPresent(ItemMovable.class)) {
+            flags |= ItemImpl.FLAG_MOVABLE;
+        }
+
+        if (clazz.isAnnotationPresent(ItemDroppable.class)) {
+            flags |= ItemImpl.FLAG_DROPPABLE;
+        }
+
+        return flags;
+    }
+
+    private static int resolveInteractionMask(@Nullable ItemInteractionSettings settings) {
+        if (settings == null) {
+            return ItemImpl.INTERACT_LEFT_CLICK_AIR | ItemImpl.INTERACT_LEFT_CLICK_BLOCK | ItemImpl.INTERACT_RIGHT_CLICK_AIR | ItemImpl.INTERACT_RIGHT_CLICK_BLOCK;
+        }
+
+        int mask = 0;
+
+        if (settings.leftClickAir()) {
+            mask |= ItemImpl.INTERACT_LEFT_CLICK_AIR;
+        }
+
+        if (settings.leftClickBlock()) {
+            mask |= ItemImpl.INTERACT_LEFT_CLICK_BLOCK;
+        }
+
+        if (settings.rightClickAir()) {
+            mask |= ItemImpl.INTERACT_RIGHT_CLICK_AIR;
+        }
+
+        if (settings.rightClickBlock()) {
+            mask |= ItemImpl.INTERACT_RIGHT_CLICK_BLOCK;
+        }
+
+        return mask;
     }
 
     private <V> @Nullable V handler(@NotNull Class<V> clazz) {
@@ -86,45 +186,67 @@ public class ItemImpl<T, U extends InventoryPlayerHolder> implements Item<T, U>
 
     @Override
     public boolean isSimilar(@NotNull ItemStack itemStack) {
-        return this.isSimilar(CraftItemStack.asNMSCopy(itemStack));
+        return this.inventoryManager.parseItemId(itemStack) == this.id;
     }
 
     @Override
     public boolean isSimilar(@NotNull net.minecraft.world.item.ItemStack itemStack) {
-        if (!itemStack.has(DataComponents.CUSTOM_DATA)) {
-            return false;
-        }
-
-        CompoundTag tag = Objects.requireNonNull(itemStack.get(DataComponents.CUSTOM_DATA)).copyTag();
-
-        return tag.getInt("inventory_api_item").filter(id -> id == this.id).isPresent();
+        return this.inventoryManager.parseItemId(itemStack) == this.id;
     }
 
     public int id() {
         return this.id;
     }
 
-    public @NotNull Optional<ItemDropHandler<U>> dropHandler() {
-        return Optional.ofNullable(this.dropHandler);
+    public long refreshInterval() {
+        return this.refreshInterval;
     }
 
-    public @NotNull Optional<ItemInventoryDropHandler<T, U>> inventoryDropHandler() {
-        return Optional.ofNullable(this.inventoryDropHandler);
+    public boolean isMovable() {
+        return (this.flags & ItemImpl.FLAG_MOVABLE) != 0;
     }
 
-    public @NotNull Optional<ItemLeftClickHandler<T, U>> leftClickHandler() {
-        return Optional.ofNullable(this.leftClickHandler);
+    public boolean isDroppable() {
+        return (this.flags & ItemImpl.FLAG_DROPPABLE) != 0;
     }
 
-    public @NotNull Optional<ItemRightClickHandler<T, U>> rightClickHandler() {
-        return Optional.ofNullable(this.rightClickHandler);
+    public boolean allowsInteraction(@NotNull Action action) {
+        int bit = switch (action) {
+            case LEFT_CLICK_AIR -> ItemImpl.INTERACT_LEFT_CLICK_AIR;
+            case LEFT_CLICK_BLOCK -> ItemImpl.INTERACT_LEFT_CLICK_BLOCK;
+            case RIGHT_CLICK_AIR -> ItemImpl.INTERACT_RIGHT_CLICK_AIR;
+            case RIGHT_CLICK_BLOCK -> ItemImpl.INTERACT_RIGHT_CLICK_BLOCK;
+            default -> 0;
+        };
+
+        return bit == 0 || (this.interactionMask & bit) != 0;
     }
 
-    public @NotNull Optional<ItemInteractLeftClickHandler<U>> interactLeftClickHandler() {
-        return Optional.ofNullable(this.interactLeftClickHandler);
+    public boolean hasHandler(int handler) {
+        return (this.handlerMask & (1 << handler)) != 0;
     }
 
-    public @NotNull Optional<ItemInteractRightClickHandler<U>> interactRightClickHandler() {
-        return Optional.ofNullable(this.interactRightClickHandler);
+    // Exceptions thrown by the handler are rethrown to the listener
+    @SuppressWarnings("ConstantConditions")
+    public void dispatch(int handler, @NotNull U player, boolean isShiftClick, @Nullable T value, @Nullable Block block) {
+        if ((this.handlerMask & (1 << handler)) == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            switch (handler) {
+                case ItemImpl.LEFT_CLICK -> this.leftClickHandler.onLeftClick(player, isShiftClick, value);
+                case ItemImpl.RIGHT_CLICK -> this.rightClickHandler.onRightClick(player, isShiftClick, value);
+                case ItemImpl.INVENTORY_DROP -> this.inventoryDropHandler.onDrop(player, value);
+                case ItemImpl.DROP -> this.dropHandler.onDrop(player);
+                case ItemImpl.INTERACT_LEFT_CLICK -> this.interactLeftClickHandler.onInteractLeftClick(player, block);
+                case ItemImpl.INTERACT_RIGHT_CLICK -> this.interactRightClickHandler.onInteractRightClick(player, block);
+                default -> throw new IllegalArgumentException("Unknown handler " + handler);
+            }
+        } finally {
+            this.clickTimer.record(System.nanoTime() - start);
+        }
     }
 }
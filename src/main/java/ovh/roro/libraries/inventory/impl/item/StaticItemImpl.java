@@ -8,21 +8,64 @@ import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
 import ovh.roro.libraries.inventory.api.instance.StaticItemInstance;
 import ovh.roro.libraries.inventory.api.item.ItemBuilder;
 import ovh.roro.libraries.inventory.api.item.StaticItem;
+import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
+import ovh.roro.libraries.inventory.impl.metrics.Timer;
+import ovh.roro.libraries.language.api.Language;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ApiStatus.Internal
 public class StaticItemImpl extends ItemImpl<Object, InventoryPlayerHolder> implements StaticItem {
 
-    private final @NotNull ItemBuilder cachedBuilder;
+    private final @NotNull StaticItemInstance itemInstance;
+    private final @Nullable ItemBuilder cachedBuilder;
 
-    @SuppressWarnings("ConstantConditions")
-    public StaticItemImpl(@NotNull InventoryManager inventoryManager, @NotNull StaticItemInstance itemInstance, int id) {
-        super(inventoryManager, itemInstance, id);
+    // Swapped as a whole on a new render epoch, so a render started before it cannot land in the new map
+    private volatile @NotNull RenderedStacks renderedStacks;
+
+    public StaticItemImpl(@NotNull InventoryManager inventoryManager, @NotNull StaticItemInstance itemInstance, int id, @NotNull Timer clickTimer) {
+        super(inventoryManager, itemInstance, id, clickTimer);
+
+        this.itemInstance = itemInstance;
 
-        this.cachedBuilder = itemInstance.buildItem(null, null);
+        // Refreshed items must be rebuilt every time, and movable ones can end up being modified by their container
+        if (this.refreshInterval() > 0L || this.isMovable()) {
+            this.cachedBuilder = null;
+        } else {
+            this.cachedBuilder = itemInstance.buildItem();
+        }
+
+        this.renderedStacks = new RenderedStacks(-1, new ConcurrentHashMap<>());
     }
 
     @Override
     public @NotNull ItemBuilder buildItem(@NotNull InventoryPlayerHolder player, @Nullable Object value) {
+        if (this.cachedBuilder == null) {
+            return this.itemInstance.buildItem();
+        }
+
         return this.cachedBuilder;
     }
+
+    public boolean isCachedBuilder(@NotNull ItemBuilder builder) {
+        return this.cachedBuilder == builder;
+    }
+
+    // Shared between the viewers, the stack must not be modified
+    @SuppressWarnings("ConstantConditions")
+    public @NotNull net.minecraft.world.item.ItemStack renderedStack(@NotNull InventoryManagerImpl inventoryManager, @NotNull Language language) {
+        int renderEpoch = inventoryManager.renderEpoch();
+        RenderedStacks renderedStacks = this.renderedStacks;
+
+        if (renderedStacks.epoch() != renderEpoch) {
+            renderedStacks = new RenderedStacks(renderEpoch, new ConcurrentHashMap<>());
+            this.renderedStacks = renderedStacks;
+        }
+
+        return renderedStacks.stacks().computeIfAbsent(language, key -> inventoryManager.buildStack(key, this.cachedBuilder, this));
+    }
+
+    private record RenderedStacks(int epoch, @NotNull Map<Language, net.minecraft.world.item.ItemStack> stacks) {
+    }
 }
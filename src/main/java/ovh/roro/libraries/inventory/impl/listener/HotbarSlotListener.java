@@ -0,0 +1,27 @@
+package ovh.roro.libraries.inventory.impl.listener;
+
+import io.papermc.paper.event.player.PlayerInventorySlotChangeEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
+import ovh.roro.libraries.inventory.impl.hotbar.HotbarItemCache;
+
+public class HotbarSlotListener implements Listener {
+
+    private final @NotNull InventoryManagerImpl inventoryManager;
+
+    public HotbarSlotListener(@NotNull InventoryManagerImpl inventoryManager) {
+        this.inventoryManager = inventoryManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerInventorySlotChange(@NotNull PlayerInventorySlotChangeEvent event) {
+        int slot = HotbarItemCache.cacheSlot(event.getSlot());
+
+        if (slot != -1) {
+            this.inventoryManager.hotbarCache().invalidate(event.getPlayer().getUniqueId(), slot);
+        }
+    }
+}
@@ -8,8 +8,6 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
-import ovh.roro.libraries.inventory.api.annotation.ItemDroppable;
-import ovh.roro.libraries.inventory.api.event.item.drop.ItemDropHandler;
 import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
 import ovh.roro.libraries.inventory.impl.item.ItemImpl;
 
@@ -26,22 +24,24 @@ public class ItemDropListener implements Listener {
     @SuppressWarnings({"unchecked", "rawtypes"})
     @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGH)
     public void onPlayerDropItem(@NotNull PlayerDropItemEvent event) {
-        InventoryPlayerHolder player = this.inventoryManager.playerMapper().apply(event.getPlayer().getUniqueId());
+        ItemImpl item = this.inventoryManager.findItem(event.getItemDrop().getItemStack());
 
-        this.inventoryManager.parseItem(event.getItemDrop().getItemStack()).ifPresent(item -> {
-            if (!item.instance().getClass().isAnnotationPresent(ItemDroppable.class)) {
-                event.setCancelled(true);
-            }
+        if (item == null) {
+            return;
+        }
+
+        if (!item.isDroppable()) {
+            event.setCancelled(true);
+        }
+
+        InventoryPlayerHolder player = this.inventoryManager.playerMapper().apply(event.getPlayer().getUniqueId());
 
-            if (player != null) { // Player can be null when being disconnected while having the inventory open
-                ((ItemImpl) item).dropHandler().ifPresent(handler -> {
-                    try {
-                        ((ItemDropHandler) handler).onDrop(player);
-                    } catch (Throwable throwable) {
-                        ItemDropListener.LOGGER.error("An exception occurred while handling player drop for item {}", item.instance().getClass().getSimpleName(), throwable);
-                    }
-                });
+        if (player != null) { // Player can be null when being disconnected while having the inventory open
+            try {
+                item.dispatch(ItemImpl.DROP, player, false, null, null);
+            } catch (Throwable throwable) {
+                ItemDropListener.LOGGER.error("An exception occurred while handling player drop for item {}", item.instance().getClass().getSimpleName(), throwable);
             }
-        });
+        }
     }
 }
@@ -1,19 +1,19 @@
 package ovh.roro.libraries.inventory.impl.listener;
 
 import org.bukkit.GameMode;
+import org.bukkit.craftbukkit.inventory.CraftItemStack;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
-import ovh.roro.libraries.inventory.api.annotation.ItemInteractionSettings;
-import ovh.roro.libraries.inventory.api.event.item.interact.ItemInteractLeftClickHandler;
-import ovh.roro.libraries.inventory.api.event.item.interact.ItemInteractRightClickHandler;
 import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
+import ovh.roro.libraries.inventory.impl.hotbar.HotbarItemCache;
 import ovh.roro.libraries.inventory.impl.item.ItemImpl;
 
 import java.util.Objects;
@@ -35,49 +35,42 @@ public class ItemInteractListener implements Listener {
             return;
         }
 
+        // The interacting stack is a mirror of the hand stack, so its instance can be compared with the cached one
+        int slot = event.getHand() == EquipmentSlot.OFF_HAND ? HotbarItemCache.OFFHAND_SLOT : event.getHand() == EquipmentSlot.HAND ? event.getPlayer().getInventory().getHeldItemSlot() : -1;
+        ItemImpl item = this.inventoryManager.findItem(this.inventoryManager.hotbarCache().itemId(event.getPlayer().getUniqueId(), slot, CraftItemStack.unwrap(event.getItem())));
+
+        if (item == null) {
+            return;
+        }
+
+        Action action = event.getAction();
+
+        if (!item.allowsInteraction(action)) {
+            return;
+        }
+
+        event.setCancelled(true);
+
+        int handler;
+
+        if (action == Action.RIGHT_CLICK_AIR || action == Action.RIGHT_CLICK_BLOCK) {
+            handler = ItemImpl.INTERACT_RIGHT_CLICK;
+        } else if (action == Action.LEFT_CLICK_AIR || action == Action.LEFT_CLICK_BLOCK) {
+            handler = ItemImpl.INTERACT_LEFT_CLICK;
+        } else {
+            return;
+        }
+
+        if (!item.hasHandler(handler) || !this.inventoryManager.tryClick(event.getPlayer().getUniqueId())) {
+            return;
+        }
+
         InventoryPlayerHolder player = Objects.requireNonNull(this.inventoryManager.playerMapper().apply(event.getPlayer().getUniqueId()));
 
-        this.inventoryManager.parseItem(event.getItem()).ifPresent(item -> {
-            ItemInteractionSettings interactionSettings = item.instance().getClass().getAnnotation(ItemInteractionSettings.class);
-            Action action = event.getAction();
-
-            if (interactionSettings != null) {
-                if (!interactionSettings.leftClickAir() && action == Action.LEFT_CLICK_AIR) {
-                    return;
-                }
-
-                if (!interactionSettings.leftClickBlock() && action == Action.LEFT_CLICK_BLOCK) {
-                    return;
-                }
-
-                if (!interactionSettings.rightClickAir() && action == Action.RIGHT_CLICK_AIR) {
-                    return;
-                }
-
-                if (!interactionSettings.rightClickBlock() && action == Action.RIGHT_CLICK_BLOCK) {
-                    return;
-                }
-            }
-
-            event.setCancelled(true);
-
-            if (action == Action.RIGHT_CLICK_AIR || action == Action.RIGHT_CLICK_BLOCK) {
-                ((ItemImpl) item).interactRightClickHandler().ifPresent(handler -> {
-                    try {
-                        ((ItemInteractRightClickHandler) handler).onInteractRightClick(player, event.getClickedBlock());
-                    } catch (Throwable throwable) {
-                        ItemInteractListener.LOGGER.error("An exception occurred while handling player interaction for item {}", item.instance().getClass().getSimpleName(), throwable);
-                    }
-                });
-            } else if (action == Action.LEFT_CLICK_AIR || action == Action.LEFT_CLICK_BLOCK) {
-                ((ItemImpl) item).interactLeftClickHandler().ifPresent(handler -> {
-                    try {
-                        ((ItemInteractLeftClickHandler) handler).onInteractLeftClick(player, event.getClickedBlock());
-                    } catch (Throwable throwable) {
-                        ItemInteractListener.LOGGER.error("An exception occurred while handling player interaction for item {}", item.instance().getClass().getSimpleName(), throwable);
-                    }
-                });
-            }
-        });
+        try {
+            item.dispatch(handler, player, false, null, event.getClickedBlock());
+        } catch (Throwable throwable) {
+            ItemInteractListener.LOGGER.error("An exception occurred while handling player interaction for item {}", item.instance().getClass().getSimpleName(), throwable);
+        }
     }
 }
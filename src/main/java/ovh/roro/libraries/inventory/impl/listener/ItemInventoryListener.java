@@ -1,6 +1,7 @@
 package ovh.roro.libraries.inventory.impl.listener;
 
 import org.bukkit.craftbukkit.inventory.CraftInventory;
+import org.bukkit.craftbukkit.inventory.CraftItemStack;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -16,23 +17,20 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ovh.roro.libraries.inventory.api.InventoryManager;
 import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
-import ovh.roro.libraries.inventory.api.annotation.ItemMovable;
-import ovh.roro.libraries.inventory.api.event.item.click.ItemLeftClickHandler;
-import ovh.roro.libraries.inventory.api.event.item.click.ItemRightClickHandler;
-import ovh.roro.libraries.inventory.api.event.item.drop.ItemInventoryDropHandler;
-import ovh.roro.libraries.inventory.api.instance.ItemInstance;
 import ovh.roro.libraries.inventory.api.item.Item;
 import ovh.roro.libraries.inventory.api.slot.Slot;
 import ovh.roro.libraries.inventory.impl.InventoryImpl;
 import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
 import ovh.roro.libraries.inventory.impl.InventoryWrapper;
+import ovh.roro.libraries.inventory.impl.hotbar.HotbarItemCache;
 import ovh.roro.libraries.inventory.impl.item.ItemImpl;
 import ovh.roro.libraries.inventory.impl.slot.AttachedSlotImpl;
 import ovh.roro.libraries.inventory.impl.slot.DynamicSlotImpl;
 
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.BiFunction;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class ItemInventoryListener implements Listener {
@@ -55,6 +53,11 @@ public class ItemInventoryListener implements Listener {
             return;
         }
 
+        // Most clicks happen in containers unrelated to the API, they are dropped before mapping the player
+        if (!this.isRouted(event, player)) {
+            return;
+        }
+
         InventoryPlayerHolder mappedPlayer = Objects.requireNonNull(this.inventoryManager.playerMapper().apply(player.getUniqueId()));
 
         if (event.getInventory().getHolder() instanceof Player) {
@@ -66,52 +69,80 @@ public class ItemInventoryListener implements Listener {
         }
     }
 
-    @EventHandler
-    public void onInventoryDrag(InventoryDragEvent event) {
+    // Only clicks in an inventory of the API or involving one of its items are handled
+    private boolean isRouted(@NotNull InventoryClickEvent event, @NotNull Player player) {
         if (((CraftInventory) event.getInventory()).getInventory() instanceof InventoryWrapper) {
-            // Only check slots if the top inventory is an InventoryWrapper
-            for (Integer slot : event.getNewItems().keySet()) {
-                if (((CraftInventory) event.getView().getInventory(slot)).getInventory() instanceof InventoryWrapper) {
-                    event.setCancelled(true);
-                    return;
-                }
-            }
+            return true;
         }
 
-        for (ItemStack itemStack : event.getNewItems().values()) {
-            if (this.inventoryManager.parseItem(itemStack).isPresent()) {
-                event.setCancelled(true);
-                return;
-            }
+        if (this.isItem(event.getCurrentItem()) || this.isItem(event.getCursor())) {
+            return true;
+        }
+
+        // Hotbar swaps can move an item of the API without clicking it
+        return this.hotbarItem(player, event.getHotbarButton()) != null;
+    }
+
+    private @Nullable ItemImpl hotbarItem(@NotNull Player player, int button) {
+        if (button < 0) {
+            return null;
         }
 
-        if (this.inventoryManager.parseItem(event.getCursor()).isPresent()) {
+        ItemStack itemStack = player.getInventory().getItem(button);
+        int itemId = this.inventoryManager.hotbarCache().itemId(player.getUniqueId(), HotbarItemCache.cacheSlot(button), itemStack == null ? null : CraftItemStack.unwrap(itemStack));
+
+        return this.inventoryManager.findItem(itemId);
+    }
+
+    private boolean isItem(@Nullable ItemStack itemStack) {
+        return this.inventoryManager.parseItemId(itemStack) != InventoryManager.NO_ITEM_ID;
+    }
+
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent event) {
+        // Dragged stacks are copies of the cursor, checking it once covers every slot
+        if (this.isItem(event.getOldCursor())) {
             event.setCancelled(true);
+            return;
+        }
+
+        Inventory topInventory = event.getInventory();
+
+        if (((CraftInventory) topInventory).getInventory() instanceof InventoryWrapper) {
+            // Raw slots below the size of the top inventory belong to the wrapper
+            int topSize = topInventory.getSize();
+
+            for (int rawSlot : event.getRawSlots()) {
+                if (rawSlot < topSize) {
+                    event.setCancelled(true);
+                    return;
+                }
+            }
         }
     }
 
     private void handlePlayerInventoryClick(@NotNull InventoryClickEvent event, @NotNull InventoryPlayerHolder player) {
         if (event.getSlotType() == InventoryType.SlotType.ARMOR || event.getSlotType() == InventoryType.SlotType.CRAFTING) {
             if (event.getAction() != InventoryAction.HOTBAR_SWAP) {
-                ItemStack cursorItem = player.bukkitPlayer().getItemOnCursor();
-
-                this.inventoryManager.parseItem(cursorItem).ifPresent(item -> {
+                if (this.isItem(player.bukkitPlayer().getItemOnCursor())) {
                     event.setCancelled(true);
-                });
+                }
             } else {
-                ItemStack hotbarItem = player.bukkitPlayer().getInventory().getItem(event.getHotbarButton());
+                ItemImpl item = this.hotbarItem(player.bukkitPlayer(), event.getHotbarButton());
 
-                this.inventoryManager.parseItem(hotbarItem).ifPresent(item -> {
+                if (item != null) {
                     event.setCancelled(true);
 
-                    ((ItemImpl) item).leftClickHandler().ifPresent(handler -> {
-                        try {
-                            ((ItemLeftClickHandler) handler).onLeftClick(player, false, null);
-                        } catch (Throwable throwable) {
-                            ItemInventoryListener.LOGGER.error("An exception occurred while handling player inventory click for item {}", item.instance().getClass().getSimpleName(), throwable);
-                        }
-                    });
-                });
+                    if (!item.hasHandler(ItemImpl.LEFT_CLICK) || !this.withinBudget(event, player)) {
+                        return;
+                    }
+
+                    try {
+                        item.dispatch(ItemImpl.LEFT_CLICK, player, false, null, null);
+                    } catch (Throwable throwable) {
+                        ItemInventoryListener.LOGGER.error("An exception occurred while handling player inventory click for item {}", item.instance().getClass().getSimpleName(), throwable);
+                    }
+                }
             }
         } else {
             this.handleInventoryClick(event, player);
@@ -121,13 +152,16 @@ public class ItemInventoryListener implements Listener {
     @SuppressWarnings("DataFlowIssue")
     private void handleInventoryClick(@NotNull InventoryClickEvent event, @NotNull InventoryPlayerHolder player) {
         if (event.getClick() == ClickType.NUMBER_KEY) {
-            Optional<Item> hotbarItem = this.inventoryManager.parseItem(player.bukkitPlayer().getInventory().getItem(event.getHotbarButton()));
-            Optional<Item> slotItem = this.inventoryManager.parseItem(event.getClickedInventory().getItem(event.getSlot()));
+            ItemImpl slotItem = this.inventoryManager.findItem(event.getClickedInventory().getItem(event.getSlot()));
+
+            if (slotItem != null) {
+                this.handleHotbarSwap(event, player, slotItem, null, -1);
+            } else {
+                ItemImpl hotbarItem = this.hotbarItem(player.bukkitPlayer(), event.getHotbarButton());
 
-            if (slotItem.isPresent()) {
-                this.handleHotbarSwap(event, player, slotItem.get(), null, -1);
-            } else if (hotbarItem.isPresent()) {
-                this.handleHotbarSwap(event, player, hotbarItem.get(), null, -1);
+                if (hotbarItem != null) {
+                    this.handleHotbarSwap(event, player, hotbarItem, null, -1);
+                }
             }
 
             return;
@@ -143,13 +177,10 @@ public class ItemInventoryListener implements Listener {
             }
         }
 
-        Optional<Item> clickedItem = this.inventoryManager.parseItem(event.getCurrentItem());
-
-        if (clickedItem.isPresent()) {
-            ItemImpl item = (ItemImpl) clickedItem.get();
-            ItemInstance instance = item.instance();
+        ItemImpl item = this.inventoryManager.findItem(event.getCurrentItem());
 
-            if (!instance.getClass().isAnnotationPresent(ItemMovable.class)) {
+        if (item != null) {
+            if (!item.isMovable()) {
                 event.setCancelled(true);
             }
 
@@ -158,46 +189,31 @@ public class ItemInventoryListener implements Listener {
                 return;
             }
 
-            if (event.isLeftClick()) {
-                item.leftClickHandler().ifPresent(handler -> {
-                    try {
-                        ((ItemLeftClickHandler) handler).onLeftClick(player, event.isShiftClick(), null);
-                    } catch (Throwable throwable) {
-                        ItemInventoryListener.LOGGER.error("An exception occurred while handling inventory click for item {}", instance.getClass().getSimpleName(), throwable);
-                    }
-                });
-            } else if (event.isRightClick()) {
-                item.rightClickHandler().ifPresent(handler -> {
-                    try {
-                        ((ItemRightClickHandler) handler).onRightClick(player, event.isShiftClick(), null);
-                    } catch (Throwable throwable) {
-                        ItemInventoryListener.LOGGER.error("An exception occurred while handling inventory click for item {}", instance.getClass().getSimpleName(), throwable);
-                    }
-                });
-            } else if (event.getClick() == ClickType.DROP || event.getClick() == ClickType.CONTROL_DROP) {
-                item.inventoryDropHandler().ifPresent(handler -> {
-                    try {
-                        ((ItemInventoryDropHandler) handler).onDrop(player, null);
-                    } catch (Throwable throwable) {
-                        ItemInventoryListener.LOGGER.error("An exception occurred while handling inventory click for item {}", instance.getClass().getSimpleName(), throwable);
-                    }
-                });
-            }
+            this.dispatchClick(event, player, item, null);
         }
     }
 
     private void handleInventoryWrapperClick(@NotNull InventoryClickEvent event, @NotNull InventoryPlayerHolder player, @NotNull InventoryWrapper wrapper) {
         InventoryImpl inventory = wrapper.inventory();
+
+        if (inventory.isPlaceholder(event.getSlot(), wrapper.value())) {
+            event.setCancelled(true);
+            return;
+        }
+
         Slot slot = inventory.inventoryContent().slot(event.getSlot());
         Item item = slot.item();
 
         if (event.getClick() == ClickType.NUMBER_KEY) {
-            Optional<Item> hotbarItem = this.inventoryManager.parseItem(player.bukkitPlayer().getInventory().getItem(event.getHotbarButton()));
-
             if (item != null) {
                 this.handleHotbarSwap(event, player, item, wrapper, event.getSlot());
-            } else if (hotbarItem.isPresent()) {
-                this.handleHotbarSwap(event, player, hotbarItem.get(), null, -1);
+                return;
+            }
+
+            ItemImpl hotbarItem = this.hotbarItem(player.bukkitPlayer(), event.getHotbarButton());
+
+            if (hotbarItem != null) {
+                this.handleHotbarSwap(event, player, hotbarItem, null, -1);
             } else {
                 event.setCancelled(true);
             }
@@ -213,20 +229,9 @@ public class ItemInventoryListener implements Listener {
             return;
         }
 
-        ItemInstance instance = item.instance();
-        Object value = null;
+        Object value = this.slotValue(slot, player, wrapper);
 
-        if (slot instanceof AttachedSlotImpl attachedSlot) {
-            value = Optional.ofNullable(attachedSlot.valueMapper())
-                    .map(function -> function.apply(player, wrapper.value()))
-                    .orElse(null);
-        } else if (slot instanceof DynamicSlotImpl) {
-            value = wrapper.value();
-        }
-
-        Object finalValue = value;
-
-        if (!instance.getClass().isAnnotationPresent(ItemMovable.class)) {
+        if (!((ItemImpl) item).isMovable()) {
             event.setCancelled(true);
         }
 
@@ -235,72 +240,75 @@ public class ItemInventoryListener implements Listener {
             return;
         }
 
+        this.dispatchClick(event, player, (ItemImpl) item, value);
+    }
+
+    private void dispatchClick(@NotNull InventoryClickEvent event, @NotNull InventoryPlayerHolder player, @NotNull ItemImpl item, @Nullable Object value) {
+        int handler;
+
         if (event.isLeftClick()) {
-            ((ItemImpl) item).leftClickHandler().ifPresent(handler -> {
-                try {
-                    ((ItemLeftClickHandler) handler).onLeftClick(player, event.isShiftClick(), finalValue);
-                } catch (Throwable throwable) {
-                    ItemInventoryListener.LOGGER.error("An exception occurred while handling inventory click for item {}", instance.getClass().getSimpleName(), throwable);
-                }
-            });
+            handler = ItemImpl.LEFT_CLICK;
         } else if (event.isRightClick()) {
-            ((ItemImpl) item).rightClickHandler().ifPresent(handler -> {
-                try {
-                    ((ItemRightClickHandler) handler).onRightClick(player, event.isShiftClick(), finalValue);
-                } catch (Throwable throwable) {
-                    ItemInventoryListener.LOGGER.error("An exception occurred while handling inventory click for item {}", instance.getClass().getSimpleName(), throwable);
-                }
-            });
+            handler = ItemImpl.RIGHT_CLICK;
         } else if (event.getClick() == ClickType.DROP || event.getClick() == ClickType.CONTROL_DROP) {
-            ((ItemImpl) item).inventoryDropHandler().ifPresent(handler -> {
-                try {
-                    ((ItemInventoryDropHandler) handler).onDrop(player, finalValue);
-                } catch (Throwable throwable) {
-                    ItemInventoryListener.LOGGER.error("An exception occurred while handling inventory click for item {}", instance.getClass().getSimpleName(), throwable);
-                }
-            });
+            handler = ItemImpl.INVENTORY_DROP;
+        } else {
+            return;
+        }
+
+        if (!item.hasHandler(handler) || !this.withinBudget(event, player)) {
+            return;
+        }
+
+        try {
+            item.dispatch(handler, player, event.isShiftClick(), value, null);
+        } catch (Throwable throwable) {
+            ItemInventoryListener.LOGGER.error("An exception occurred while handling inventory click for item {}", item.instance().getClass().getSimpleName(), throwable);
         }
     }
 
     private void handleHotbarSwap(@NotNull InventoryClickEvent event, @NotNull InventoryPlayerHolder player, @NotNull Item item, @Nullable InventoryWrapper wrapper, int slotIndex) {
-        if (!item.instance().getClass().isAnnotationPresent(ItemMovable.class)) {
+        if (!((ItemImpl) item).isMovable()) {
             event.setCancelled(true);
         }
 
-        ((ItemImpl) item).leftClickHandler().ifPresent(handler -> {
-            try {
-                if (wrapper == null) {
-                    ((ItemLeftClickHandler) handler).onLeftClick(player, false, null);
-                } else {
-                    InventoryImpl inventory = wrapper.inventory();
-                    Slot slot = inventory.inventoryContent().slot(slotIndex);
-
-                    if (slot instanceof AttachedSlotImpl attachedSlot) {
-                        ((ItemLeftClickHandler) handler).onLeftClick(
-                                player,
-                                false,
-                                Optional.ofNullable(attachedSlot.valueMapper())
-                                        .map(function -> function.apply(player, wrapper.value()))
-                                        .orElse(null)
-                        );
-                    } else if (slot instanceof DynamicSlotImpl) {
-                        ((ItemLeftClickHandler) handler).onLeftClick(
-                                player,
-                                false,
-                                wrapper.value()
-                        );
-                    } else {
-                        ((ItemLeftClickHandler) handler).onLeftClick(
-                                player,
-                                false,
-                                null
-                        );
-                    }
-                }
-            } catch (Throwable throwable) {
-                ItemInventoryListener.LOGGER.error("An exception occurred while handling hotbar swap for item {}", item.instance().getClass().getSimpleName(), throwable);
+        if (!((ItemImpl) item).hasHandler(ItemImpl.LEFT_CLICK) || !this.withinBudget(event, player)) {
+            return;
+        }
+
+        try {
+            Object value = null;
+
+            if (wrapper != null) {
+                value = this.slotValue(wrapper.inventory().inventoryContent().slot(slotIndex), player, wrapper);
             }
-        });
+
+            ((ItemImpl) item).dispatch(ItemImpl.LEFT_CLICK, player, false, value, null);
+        } catch (Throwable throwable) {
+            ItemInventoryListener.LOGGER.error("An exception occurred while handling hotbar swap for item {}", item.instance().getClass().getSimpleName(), throwable);
+        }
+    }
+
+    // The click is cancelled once the budget of the player is exhausted
+    private boolean withinBudget(@NotNull InventoryClickEvent event, @NotNull InventoryPlayerHolder player) {
+        if (this.inventoryManager.tryClick(player.bukkitPlayer().getUniqueId())) {
+            return true;
+        }
+
+        event.setCancelled(true);
+        return false;
+    }
+
+    private @Nullable Object slotValue(@NotNull Slot slot, @NotNull InventoryPlayerHolder player, @NotNull InventoryWrapper wrapper) {
+        if (slot instanceof AttachedSlotImpl attachedSlot) {
+            BiFunction valueMapper = attachedSlot.valueMapper();
+
+            return valueMapper == null ? null : valueMapper.apply(player, wrapper.value());
+        } else if (slot instanceof DynamicSlotImpl) {
+            return wrapper.value();
+        }
+
+        return null;
     }
 
     private int firstPossibleSlot(@NotNull Inventory inventory, @NotNull ItemStack itemStack) {
@@ -0,0 +1,24 @@
+package ovh.roro.libraries.inventory.impl.listener;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
+
+public class PlayerQuitListener implements Listener {
+
+    private final @NotNull InventoryManagerImpl inventoryManager;
+
+    public PlayerQuitListener(@NotNull InventoryManagerImpl inventoryManager) {
+        this.inventoryManager = inventoryManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        this.inventoryManager.clearHistory(event.getPlayer().getUniqueId());
+        this.inventoryManager.hotbarCache().clear(event.getPlayer().getUniqueId());
+        this.inventoryManager.clearClicks(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,188 @@
+package ovh.roro.libraries.inventory.impl.metrics;
+
+import com.google.common.cache.CacheStats;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ovh.roro.libraries.inventory.api.metrics.InventoryMetrics;
+import ovh.roro.libraries.inventory.api.metrics.MetricsSnapshot;
+import ovh.roro.libraries.inventory.api.metrics.TimerSnapshot;
+import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@ApiStatus.Internal
+public class InventoryMetricsImpl implements InventoryMetrics {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger("InventoryAPI - Metrics");
+
+    private final @NotNull InventoryManagerImpl inventoryManager;
+    private final @NotNull Map<Class<?>, InstanceTimers> instances;
+
+    private long sharedRenderHits;
+    private long sharedRenderMisses;
+
+    // The statistics of the translation cache cannot be cleared, the snapshot reports them since this baseline
+    private @NotNull CacheStats translationBaseline;
+
+    private @Nullable BukkitTask logTask;
+
+    public InventoryMetricsImpl(@NotNull InventoryManagerImpl inventoryManager) {
+        this.inventoryManager = inventoryManager;
+        // Items can be created off the main thread, for example while loading elements asynchronously
+        this.instances = new ConcurrentHashMap<>();
+        this.translationBaseline = inventoryManager.translationCacheStats();
+    }
+
+    public @NotNull InstanceTimers instance(@NotNull Class<?> clazz) {
+        InstanceTimers timers = this.instances.get(clazz);
+
+        if (timers == null) {
+            timers = this.instances.computeIfAbsent(clazz, key -> new InstanceTimers());
+        }
+
+        return timers;
+    }
+
+    public void recordSharedRender(boolean hit) {
+        if (hit) {
+            this.sharedRenderHits++;
+        } else {
+            this.sharedRenderMisses++;
+        }
+    }
+
+    @Override
+    public @NotNull MetricsSnapshot snapshot() {
+        Map<Class<?>, MetricsSnapshot.InstanceMetrics> instances = new HashMap<>(this.instances.size());
+
+        for (Map.Entry<Class<?>, InstanceTimers> entry : this.instances.entrySet()) {
+            InstanceTimers timers = entry.getValue();
+
+            instances.put(entry.getKey(), new MetricsSnapshot.InstanceMetrics(
+                    timers.open.snapshot(),
+                    timers.elements.snapshot(),
+                    timers.render.snapshot(),
+                    timers.click.snapshot()
+            ));
+        }
+
+        long sharedRenders = this.sharedRenderHits + this.sharedRenderMisses;
+
+        return new MetricsSnapshot(
+                instances,
+                this.inventoryManager.registeredItemCount(),
+                this.inventoryManager.historySize(),
+                this.inventoryManager.translationCacheStats().minus(this.translationBaseline).hitRate(),
+                sharedRenders == 0L ? 1.0D : this.sharedRenderHits / (double) sharedRenders,
+                this.inventoryManager.bulkUpdates(),
+                this.inventoryManager.slotPacketsSaved(),
+                this.inventoryManager.droppedClicks(),
+                this.inventoryManager.mergedUpdates()
+        );
+    }
+
+    @Override
+    public void reset() {
+        // Items keep a reference to their timers, they are reset in place
+        for (InstanceTimers timers : this.instances.values()) {
+            timers.reset();
+        }
+
+        this.sharedRenderHits = 0L;
+        this.sharedRenderMisses = 0L;
+        this.translationBaseline = this.inventoryManager.translationCacheStats();
+
+        this.inventoryManager.resetCounters();
+    }
+
+    @Override
+    public void logInterval(int ticks) {
+        if (this.logTask != null) {
+            this.logTask.cancel();
+            this.logTask = null;
+        }
+
+        if (ticks > 0) {
+            this.logTask = this.inventoryManager.runTimer(this::log, ticks);
+        }
+    }
+
+    private void log() {
+        MetricsSnapshot snapshot = this.snapshot();
+
+        InventoryMetricsImpl.LOGGER.info(
+                "{} items registered, {} inventories in history, translation cache hit rate {}%, shared render hit rate {}%, {} content packets saving {} slot packets, {} clicks dropped, {} updates merged",
+                snapshot.registeredItems(),
+                snapshot.historySize(),
+                Math.round(snapshot.translationCacheHitRate() * 100.0D),
+                Math.round(snapshot.sharedRenderHitRate() * 100.0D),
+                snapshot.bulkUpdates(),
+                snapshot.slotPacketsSaved(),
+                snapshot.droppedClicks(),
+                snapshot.mergedUpdates()
+        );
+
+        for (Map.Entry<Class<?>, MetricsSnapshot.InstanceMetrics> entry : snapshot.instances().entrySet()) {
+            MetricsSnapshot.InstanceMetrics metrics = entry.getValue();
+
+            InventoryMetricsImpl.LOGGER.info(
+                    "{}: open {}, elements {}, render {}, click {}",
+                    entry.getKey().getSimpleName(),
+                    InventoryMetricsImpl.format(metrics.open()),
+                    InventoryMetricsImpl.format(metrics.elements()),
+                    InventoryMetricsImpl.format(metrics.render()),
+                    InventoryMetricsImpl.format(metrics.click())
+            );
+        }
+    }
+
+    private static @NotNull String format(@NotNull TimerSnapshot timer) {
+        if (timer.count() == 0L) {
+            return "-";
+        }
+
+        return String.format("x%d avg=%.1fus p99<=%.1fus max=%.1fus",
+                timer.count(),
+                timer.meanNanos() / 1_000.0D,
+                timer.percentileNanos(0.99D) / 1_000.0D,
+                timer.maxNanos() / 1_000.0D
+        );
+    }
+
+    public static final class InstanceTimers {
+
+        private final @NotNull Timer open = new Timer();
+        private final @NotNull Timer elements = new Timer();
+        private final @NotNull Timer render = new Timer();
+        private final @NotNull Timer click = new Timer();
+
+        public @NotNull Timer open() {
+            return this.open;
+        }
+
+        public @NotNull Timer elements() {
+            return this.elements;
+        }
+
+        public @NotNull Timer render() {
+            return this.render;
+        }
+
+        public @NotNull Timer click() {
+            return this.click;
+        }
+
+        private void reset() {
+            this.open.reset();
+            this.elements.reset();
+            this.render.reset();
+            this.click.reset();
+        }
+    }
+}
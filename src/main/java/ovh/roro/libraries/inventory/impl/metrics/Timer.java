@@ -0,0 +1,46 @@
+package ovh.roro.libraries.inventory.impl.metrics;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import ovh.roro.libraries.inventory.api.metrics.TimerSnapshot;
+
+import java.util.Arrays;
+
+// A latency histogram with power of two buckets, recording is a few arithmetic operations
+@ApiStatus.Internal
+public class Timer {
+
+    private final long @NotNull [] buckets;
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public Timer() {
+        this.buckets = new long[TimerSnapshot.BUCKETS];
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0L) {
+            nanos = 0L;
+        }
+
+        this.buckets[Long.SIZE - Long.numberOfLeadingZeros(nanos)]++;
+        this.count++;
+        this.totalNanos += nanos;
+
+        if (nanos > this.maxNanos) {
+            this.maxNanos = nanos;
+        }
+    }
+
+    public void reset() {
+        Arrays.fill(this.buckets, 0L);
+        this.count = 0L;
+        this.totalNanos = 0L;
+        this.maxNanos = 0L;
+    }
+
+    public @NotNull TimerSnapshot snapshot() {
+        return new TimerSnapshot(this.count, this.totalNanos, this.maxNanos, this.buckets.clone());
+    }
+}
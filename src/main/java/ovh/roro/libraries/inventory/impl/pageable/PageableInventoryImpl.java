@@ -1,28 +1,49 @@
 package ovh.roro.libraries.inventory.impl.pageable;
 
 import com.google.common.base.Preconditions;
+import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
 import ovh.roro.libraries.inventory.api.PageableInventory;
 import ovh.roro.libraries.inventory.api.context.PaginationContext;
+import ovh.roro.libraries.inventory.api.instance.AsyncPageableInventoryInstance;
 import ovh.roro.libraries.inventory.api.instance.PageableInventoryInstance;
+import ovh.roro.libraries.inventory.api.instance.SourcePageableInventoryInstance;
 import ovh.roro.libraries.inventory.api.item.Item;
 import ovh.roro.libraries.inventory.api.slot.SlotType;
 import ovh.roro.libraries.inventory.impl.InventoryImpl;
 import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
+import ovh.roro.libraries.inventory.impl.InventoryWrapper;
 import ovh.roro.libraries.inventory.impl.content.PageableInventoryContentImpl;
 import ovh.roro.libraries.inventory.impl.context.PaginationContextImpl;
+import ovh.roro.libraries.inventory.impl.item.ItemImpl;
+import ovh.roro.libraries.inventory.impl.item.StaticItemImpl;
+import ovh.roro.libraries.inventory.impl.slot.AttachedSlotImpl;
+import ovh.roro.libraries.language.api.Language;
 import ovh.roro.libraries.language.api.Translation;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
 
 @ApiStatus.Internal
 public class PageableInventoryImpl<T, U, V extends InventoryPlayerHolder> extends InventoryImpl<PaginationContext<T, U, V>, PageableInventoryInstance<T, U, V>, V> implements PageableInventory<T, U, V> {
 
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger("InventoryAPI - Pageable");
+
     private final @NotNull InventoryManagerImpl inventoryManager;
 
+    private long elementsMask;
+    private int @Nullable [] elementIndexes;
+    private @Nullable BiFunction<V, PaginationContext<T, U, V>, U> @Nullable [] elementMappers;
+    private @Nullable ItemImpl<U, V> elementItem;
+    private @Nullable StaticItemImpl loadingItem;
+
     public PageableInventoryImpl(@NotNull InventoryManagerImpl inventoryManager, @NotNull PageableInventoryInstance<T, U, V> inventoryInstance) {
         super(inventoryInstance, inventory -> new PageableInventoryContentImpl<>(inventoryManager, inventory));
 
@@ -39,6 +60,11 @@ public class PageableInventoryImpl<T, U, V extends InventoryPlayerHolder> extend
         return this.inventoryManager.getInventoryViewers(this);
     }
 
+    @Override
+    public void updateViewers() {
+        this.inventoryManager.updateInventoryViewers(this);
+    }
+
     @Override
     public @NotNull Translation title(@NotNull V player, @Nullable PaginationContext<T, U, V> value) {
         return this.inventoryInstance.title(player, value);
@@ -59,17 +85,26 @@ public class PageableInventoryImpl<T, U, V extends InventoryPlayerHolder> extend
         return this.inventoryInstance.slotType(index);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public void buildInventory() {
         int[] slots = this.inventoryInstance.elementsSlots();
-        Item<?, V> item = this.inventoryManager.createItem(this.inventoryInstance.createSlotItem());
+        Item<U, V> item = this.inventoryManager.createItem(this.inventoryInstance.createSlotItem());
+
+        this.elementItem = (ItemImpl<U, V>) item;
+        this.elementIndexes = new int[this.rows() * 9];
+        this.elementMappers = new BiFunction[slots.length];
+
+        Arrays.fill(this.elementIndexes, -1);
 
         int index = 0;
         for (int slot : slots) {
+            this.elementsMask |= 1L << slot;
+            this.elementIndexes[slot] = index;
             this.inventoryContent.item(slot, item);
 
             int finalIndex = index;
-            this.inventoryContent.attachment(slot, (player, value) -> {
+            BiFunction<V, PaginationContext<T, U, V>, U> mapper = (player, value) -> {
                 Preconditions.checkNotNull(value);
 
                 List<@NotNull U> elements = value.currentElements();
@@ -79,7 +114,10 @@ public class PageableInventoryImpl<T, U, V extends InventoryPlayerHolder> extend
                 }
 
                 return elements.get(finalIndex);
-            });
+            };
+
+            this.elementMappers[index] = mapper;
+            this.inventoryContent.attachment(slot, mapper);
 
             index++;
         }
@@ -94,7 +132,193 @@ public class PageableInventoryImpl<T, U, V extends InventoryPlayerHolder> extend
     public void updateInventory(@NotNull V player, @Nullable PaginationContext<T, U, V> value) {
         Preconditions.checkNotNull(value);
 
-        value.update(this.inventoryInstance.elements(player, value.inventoryValue()));
+        if (this.inventoryInstance instanceof AsyncPageableInventoryInstance<T, U, V> asyncInstance) {
+            PaginationContextImpl<T, U, V> context = (PaginationContextImpl<T, U, V>) value;
+            int token = context.startLoading();
+            CompletionStage<List<U>> stage;
+
+            try {
+                stage = asyncInstance.elementsAsync(player, value.inventoryValue());
+            } catch (Exception ex) {
+                // Completed right away, otherwise the elements would stay loading forever
+                this.completeLoading(context, token, null, ex);
+                return;
+            }
+
+            stage.whenComplete((elements, throwable) -> {
+                this.inventoryManager.runSync(() -> this.completeLoading(context, token, elements, throwable));
+            });
+
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        if (this.inventoryInstance instanceof SourcePageableInventoryInstance<T, U, V> sourceInstance) {
+            value.update(sourceInstance.source(player, value.inventoryValue()));
+        } else {
+            value.update(this.inventoryInstance.elements(player, value.inventoryValue()));
+        }
+
+        this.inventoryManager.metrics().instance(this.instanceClass()).elements().record(System.nanoTime() - start);
+    }
+
+    private void completeLoading(@NotNull PaginationContextImpl<T, U, V> context, int token, @Nullable List<U> elements, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            PageableInventoryImpl.LOGGER.error("An exception occurred while loading elements of inventory {}", this.inventoryInstance.getClass().getSimpleName(), throwable);
+        }
+
+        if (!context.completeLoading(token, elements == null ? List.of() : elements)) {
+            return; // A newer load was started, this one is stale
+        }
+
+        this.markDirty(context);
+    }
+
+    // The elements are not fetched again
+    public void pageChanged(@NotNull PaginationContext<T, U, V> context) {
+        this.markDirty(context);
+    }
+
+    private void markDirty(@NotNull PaginationContext<T, U, V> context) {
+        for (InventoryWrapper<PaginationContext<T, U, V>, PageableInventoryInstance<T, U, V>, V> wrapper : this.wrappers()) {
+            if (wrapper.value() == context) {
+                wrapper.markDirty(-1L);
+            }
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public @Nullable ItemStack prerenderedStack(int index, @NotNull V player, @Nullable PaginationContext<T, U, V> value) {
+        if ((this.elementsMask & (1L << index)) == 0L || !(value instanceof PaginationContextImpl<T, U, V> context) || this.elementItem == null || this.elementIndexes == null || this.elementMappers == null) {
+            return null;
+        }
+
+        // Refreshed items change over time and movable items hand their stack to the player, neither can be rendered ahead
+        if (this.elementItem.refreshInterval() > 0L || this.elementItem.isMovable()) {
+            return null;
+        }
+
+        int elementIndex = this.elementIndexes[index];
+
+        // The instance can replace the element slots in its own buildInventory
+        if (!(this.inventoryContent.slot(index) instanceof AttachedSlotImpl slot) || slot.item() != this.elementItem || slot.valueMapper() != this.elementMappers[elementIndex]) {
+            return null;
+        }
+
+        ItemStack stack = this.renderElement(context, context.page(context.currentPage()), elementIndex, slot.hash(), player);
+
+        if (context.schedulePrefetch()) {
+            this.inventoryManager.runNextTick(() -> this.prefetch(context, player));
+        }
+
+        return stack;
+    }
+
+    @Override
+    public void invalidatePrerendered(long mask, @Nullable PaginationContext<T, U, V> value) {
+        if (!(value instanceof PaginationContextImpl<T, U, V> context) || this.elementIndexes == null) {
+            return;
+        }
+
+        mask &= this.elementsMask;
+
+        while (mask != 0L) {
+            int slot = Long.numberOfTrailingZeros(mask);
+
+            mask &= mask - 1L;
+
+            context.invalidateStacks(this.elementIndexes[slot]);
+        }
+    }
+
+    private @NotNull ItemStack renderElement(@NotNull PaginationContextImpl<T, U, V> context, @NotNull PaginationContextImpl.CachedPage<U> page, int elementIndex, long version, @NotNull V player) {
+        Language language = player.language();
+        int renderEpoch = this.inventoryManager.renderEpoch();
+        ItemStack stack = page.stack(elementIndex, language, renderEpoch, version);
+
+        if (stack == null) {
+            List<U> elements = page.elements();
+            U element = elementIndex < elements.size() ? elements.get(elementIndex) : null;
+
+            stack = this.inventoryManager.renderStack(language, this.elementItem.buildItem(player, element), this.elementItem);
+
+            page.stack(elementIndex, language, renderEpoch, version, stack, this.elementMappers.length);
+        }
+
+        return stack;
+    }
+
+    // Fetches and renders the pages around the current one, so a page flip only swaps the rendered stacks
+    @SuppressWarnings("rawtypes")
+    private void prefetch(@NotNull PaginationContextImpl<T, U, V> context, @NotNull V player) {
+        context.prefetchDone();
+
+        if (context.isLoading() || this.elementItem == null || this.elementItem.refreshInterval() > 0L || this.elementItem.isMovable() || this.elementIndexes == null || this.elementMappers == null) {
+            return;
+        }
+
+        boolean viewed = false;
+
+        for (InventoryWrapper<PaginationContext<T, U, V>, PageableInventoryInstance<T, U, V>, V> wrapper : this.wrappers()) {
+            if (wrapper.value() == context && wrapper.player() == player) {
+                viewed = true;
+                break;
+            }
+        }
+
+        if (!viewed) {
+            return;
+        }
+
+        int currentPage = context.currentPage();
+
+        for (int page = currentPage - 1; page <= currentPage + 1; page += 2) {
+            if (page < 0 || page >= context.maxPage()) {
+                continue;
+            }
+
+            PaginationContextImpl.CachedPage<U> cachedPage = context.page(page);
+
+            for (int slot = 0; slot < this.elementIndexes.length; slot++) {
+                int elementIndex = this.elementIndexes[slot];
+
+                if (elementIndex == -1 || !(this.inventoryContent.slot(slot) instanceof AttachedSlotImpl attachedSlot) || attachedSlot.item() != this.elementItem || attachedSlot.valueMapper() != this.elementMappers[elementIndex]) {
+                    continue;
+                }
+
+                try {
+                    this.renderElement(context, cachedPage, elementIndex, attachedSlot.hash(), player);
+                } catch (Exception ex) {
+                    PageableInventoryImpl.LOGGER.error("An error occurred while prefetching page {} of inventory {}", page, this.inventoryInstance.getClass().getSimpleName(), ex);
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isPlaceholder(int index, @Nullable PaginationContext<T, U, V> value) {
+        return value != null && value.isLoading() && (this.elementsMask & (1L << index)) != 0L;
+    }
+
+    @Override
+    public long placeholderMask() {
+        return this.inventoryInstance instanceof AsyncPageableInventoryInstance ? this.elementsMask : 0L;
+    }
+
+    @Override
+    public @NotNull ItemStack placeholder(@NotNull V player) {
+        if (!(this.inventoryInstance instanceof AsyncPageableInventoryInstance<T, U, V> asyncInstance)) {
+            return ItemStack.EMPTY;
+        }
+
+        if (this.loadingItem == null) {
+            this.loadingItem = (StaticItemImpl) this.inventoryManager.createStaticItem(() -> asyncInstance.loadingItemBuilder(this.inventoryManager));
+        }
+
+        return this.inventoryManager.renderStack(player.language(), this.loadingItem.buildItem(player, null), this.loadingItem);
     }
 
     @Override
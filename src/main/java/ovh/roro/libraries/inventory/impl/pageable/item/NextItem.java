@@ -59,6 +59,6 @@ public class NextItem implements ItemInstance<PaginationContext, InventoryPlayer
 
         value.nextPage();
 
-        this.inventoryManager.updateInventory(player);
+        ((PageableInventoryImpl) value.inventory()).pageChanged(value);
     }
 }
@@ -59,6 +59,6 @@ public class PreviousItem implements ItemInstance<PaginationContext, InventoryPl
 
         value.previousPage();
 
-        this.inventoryManager.updateInventory(player);
+        ((PageableInventoryImpl) value.inventory()).pageChanged(value);
     }
 }
@@ -0,0 +1,95 @@
+package ovh.roro.libraries.inventory.impl.refresh;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import ovh.roro.libraries.inventory.impl.InventoryWrapper;
+
+// Hashed timing wheel driving ItemRefresh items. Only open wrappers displaying refreshed items are scheduled,
+// due ticks are aligned on multiples of the interval so every item sharing an interval is refreshed on the same tick
+@ApiStatus.Internal
+public class RefreshScheduler implements Runnable {
+
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = RefreshScheduler.WHEEL_SIZE - 1;
+
+    private final @NotNull ObjectArrayList<RefreshTask> @NotNull [] buckets;
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public RefreshScheduler() {
+        this.buckets = new ObjectArrayList[RefreshScheduler.WHEEL_SIZE];
+
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new ObjectArrayList<>();
+        }
+    }
+
+    public long currentTick() {
+        return this.currentTick;
+    }
+
+    public @NotNull RefreshTask schedule(@NotNull InventoryWrapper<?, ?, ?> wrapper, long interval) {
+        RefreshTask task = new RefreshTask(wrapper, interval);
+
+        this.enqueue(task);
+
+        return task;
+    }
+
+    private void enqueue(@NotNull RefreshTask task) {
+        task.dueTick = (this.currentTick / task.interval + 1) * task.interval;
+
+        this.buckets[(int) (task.dueTick & RefreshScheduler.WHEEL_MASK)].add(task);
+    }
+
+    @Override
+    public void run() {
+        long currentTick = ++this.currentTick;
+        ObjectArrayList<RefreshTask> bucket = this.buckets[(int) (currentTick & RefreshScheduler.WHEEL_MASK)];
+
+        int i = 0;
+        while (i < bucket.size()) {
+            RefreshTask task = bucket.get(i);
+
+            // Tasks due in a later rotation of the wheel stay in their bucket
+            if (!task.cancelled && task.dueTick != currentTick) {
+                i++;
+                continue;
+            }
+
+            int last = bucket.size() - 1;
+            bucket.set(i, bucket.get(last));
+            bucket.remove(last);
+
+            if (task.cancelled) {
+                continue;
+            }
+
+            if (task.wrapper.refresh(task.interval)) {
+                this.enqueue(task);
+            } else {
+                task.cancel();
+            }
+        }
+    }
+
+    public static class RefreshTask {
+
+        private final @NotNull InventoryWrapper<?, ?, ?> wrapper;
+        private final long interval;
+
+        private long dueTick;
+        private boolean cancelled;
+
+        private RefreshTask(@NotNull InventoryWrapper<?, ?, ?> wrapper, long interval) {
+            this.wrapper = wrapper;
+            this.interval = interval;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ovh.roro.libraries.inventory.impl.render;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.chat.Style;
+import net.minecraft.network.chat.contents.PlainTextContents;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ovh.roro.libraries.inventory.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Splits a component into lore lines. Styles are resolved on top of NON_ITALIC, so lines don't need an
+// additional parent component to remove the default italic
+@ApiStatus.Internal
+public class LoreCollector implements StringUtil.LineConsumer {
+
+    public static final @NotNull Style NON_ITALIC = Style.EMPTY.withItalic(false);
+
+    private final @NotNull List<Component> lines;
+
+    private @Nullable MutableComponent currentLine;
+    private @NotNull Style currentStyle;
+
+    public LoreCollector() {
+        this.lines = new ArrayList<>();
+        this.currentStyle = LoreCollector.NON_ITALIC;
+    }
+
+    public @NotNull List<Component> collect(@NotNull Component component) {
+        this.collect(component, component.getStyle().applyTo(LoreCollector.NON_ITALIC));
+
+        if (this.currentLine != null) {
+            this.lines.add(this.currentLine);
+            this.currentLine = null;
+        }
+
+        return this.lines;
+    }
+
+    private void collect(@NotNull Component component, @NotNull Style style) {
+        if (component.getContents() instanceof PlainTextContents contents) {
+            this.currentStyle = style;
+
+            StringUtil.forEachLine(contents.text(), this);
+        } else {
+            this.append(MutableComponent.create(component.getContents()).setStyle(style));
+        }
+
+        for (Component sibling : component.getSiblings()) {
+            this.collect(sibling, sibling.getStyle().applyTo(style));
+        }
+    }
+
+    @Override
+    public void accept(@NotNull String input, int start, int end, boolean terminated) {
+        this.append(Component.literal(input.substring(start, end)).setStyle(this.currentStyle));
+
+        if (terminated) {
+            this.lines.add(this.currentLine);
+            this.currentLine = null;
+        }
+    }
+
+    private void append(@NotNull MutableComponent component) {
+        if (this.currentLine == null) {
+            this.currentLine = component;
+        } else {
+            this.currentLine.append(component);
+        }
+    }
+}
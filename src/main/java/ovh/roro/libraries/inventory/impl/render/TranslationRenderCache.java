@@ -0,0 +1,82 @@
+package ovh.roro.libraries.inventory.impl.render;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import net.minecraft.network.chat.Component;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import ovh.roro.libraries.language.api.Language;
+import ovh.roro.libraries.language.api.Translation;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+// Bounded cache of translations already rendered as item names or lore lines. Entries are keyed by
+// the Translation itself, so two translations only share an entry when they are equal
+@ApiStatus.Internal
+public class TranslationRenderCache {
+
+    private static final int MAXIMUM_SIZE = 4096;
+
+    private final @NotNull BiFunction<Language, Translation, Component> nameRenderer;
+    private final @NotNull BiFunction<Language, Translation, List<Component>> loreRenderer;
+
+    private final @NotNull Cache<Key, Component> names;
+    private final @NotNull Cache<Key, List<Component>> lores;
+
+    public TranslationRenderCache(
+            @NotNull BiFunction<Language, Translation, Component> nameRenderer,
+            @NotNull BiFunction<Language, Translation, List<Component>> loreRenderer
+    ) {
+        this.nameRenderer = nameRenderer;
+        this.loreRenderer = loreRenderer;
+
+        this.names = CacheBuilder.newBuilder()
+                .maximumSize(TranslationRenderCache.MAXIMUM_SIZE)
+                .recordStats()
+                .build();
+        this.lores = CacheBuilder.newBuilder()
+                .maximumSize(TranslationRenderCache.MAXIMUM_SIZE)
+                .recordStats()
+                .build();
+    }
+
+    public @NotNull Component name(@NotNull Language language, @NotNull Translation translation) {
+        Key key = new Key(language, translation);
+        Component name = this.names.getIfPresent(key);
+
+        if (name == null) {
+            name = this.nameRenderer.apply(language, translation);
+
+            this.names.put(key, name);
+        }
+
+        return name;
+    }
+
+    public @NotNull List<Component> lore(@NotNull Language language, @NotNull Translation translation) {
+        Key key = new Key(language, translation);
+        List<Component> lore = this.lores.getIfPresent(key);
+
+        if (lore == null) {
+            lore = List.copyOf(this.loreRenderer.apply(language, translation));
+
+            this.lores.put(key, lore);
+        }
+
+        return lore;
+    }
+
+    public void invalidate() {
+        this.names.invalidateAll();
+        this.lores.invalidateAll();
+    }
+
+    public @NotNull CacheStats stats() {
+        return this.names.stats().plus(this.lores.stats());
+    }
+
+    private record Key(@NotNull Language language, @NotNull Translation translation) {
+    }
+}
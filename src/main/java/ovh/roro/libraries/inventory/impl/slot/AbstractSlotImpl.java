@@ -0,0 +1,109 @@
+package ovh.roro.libraries.inventory.impl.slot;
+
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
+import ovh.roro.libraries.inventory.api.item.Item;
+import ovh.roro.libraries.inventory.api.item.ItemBuilder;
+import ovh.roro.libraries.inventory.api.slot.Slot;
+import ovh.roro.libraries.inventory.impl.InventoryManagerImpl;
+import ovh.roro.libraries.inventory.impl.content.InventoryContentImpl;
+import ovh.roro.libraries.inventory.impl.item.ItemImpl;
+import ovh.roro.libraries.inventory.impl.item.StaticItemImpl;
+import ovh.roro.libraries.language.api.Language;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ApiStatus.Internal
+@SuppressWarnings("rawtypes")
+public abstract class AbstractSlotImpl<T, U extends InventoryPlayerHolder> implements Slot<T, U> {
+
+    // Shared between all slots so a replaced slot can never report the version of the previous one
+    private static final @NotNull AtomicLong VERSION_COUNTER = new AtomicLong();
+
+    private @Nullable InventoryContentImpl<?, ?> content;
+    private int index;
+
+    private long version;
+
+    private long refreshInterval;
+
+    private @Nullable Map<Language, ItemStack> sharedStacks;
+    private long sharedVersion;
+    private long sharedGeneration;
+    private int sharedEpoch;
+
+    protected AbstractSlotImpl() {
+        this.update();
+    }
+
+    public void attach(@NotNull InventoryContentImpl<?, ?> content, int index) {
+        this.content = content;
+        this.index = index;
+    }
+
+    protected void itemChanged(@Nullable Item item) {
+        this.refreshInterval = item == null ? 0L : ((ItemImpl) item).refreshInterval();
+
+        this.update();
+    }
+
+    @Override
+    public void update() {
+        this.version = AbstractSlotImpl.VERSION_COUNTER.incrementAndGet();
+
+        if (this.content != null) {
+            this.content.markDirty(1L << this.index);
+        }
+    }
+
+    @Override
+    public long hash() {
+        return this.version;
+    }
+
+    public long refreshInterval() {
+        return this.refreshInterval;
+    }
+
+    public boolean isShared() {
+        // Movable stacks can be modified by the container, each viewer needs its own copy
+        return this.item() instanceof StaticItemImpl item && !item.isMovable();
+    }
+
+    // Rendered once per language and version, the stack is shared by every viewer and must not be modified
+    public @NotNull ItemStack renderShared(@NotNull InventoryManagerImpl inventoryManager, @NotNull U player, @Nullable T value) {
+        // Refreshed items are due on multiples of their interval, so every viewer agrees on the current generation
+        long generation = this.refreshInterval > 0L ? inventoryManager.refreshScheduler().currentTick() / this.refreshInterval : 0L;
+        int renderEpoch = inventoryManager.renderEpoch();
+
+        if (this.sharedStacks == null) {
+            this.sharedStacks = new HashMap<>();
+        } else if (this.sharedVersion != this.version || this.sharedGeneration != generation || this.sharedEpoch != renderEpoch) {
+            this.sharedStacks.clear();
+        }
+
+        this.sharedVersion = this.version;
+        this.sharedGeneration = generation;
+        this.sharedEpoch = renderEpoch;
+
+        Language language = player.language();
+        ItemStack stack = this.sharedStacks.get(language);
+
+        inventoryManager.metrics().recordSharedRender(stack != null);
+
+        if (stack == null) {
+            ItemBuilder builder = this.createItem(player, value);
+
+            stack = builder == null ? ItemStack.EMPTY : inventoryManager.renderStack(language, builder, this.item());
+
+            this.sharedStacks.put(language, stack);
+        }
+
+        return stack;
+    }
+}
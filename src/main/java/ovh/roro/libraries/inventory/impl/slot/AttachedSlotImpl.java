@@ -4,30 +4,26 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import ovh.roro.libraries.inventory.api.InventoryPlayerHolder;
-import ovh.roro.libraries.inventory.api.annotation.ItemRefresh;
 import ovh.roro.libraries.inventory.api.item.Item;
 import ovh.roro.libraries.inventory.api.item.ItemBuilder;
-import ovh.roro.libraries.inventory.api.slot.Slot;
+import ovh.roro.libraries.inventory.impl.item.ItemImpl;
 
 import java.util.Objects;
 import java.util.function.BiFunction;
 
 @ApiStatus.Internal
 @SuppressWarnings({"rawtypes", "unchecked"})
-public class AttachedSlotImpl<T, U, V extends InventoryPlayerHolder> implements Slot<T, V> {
+public class AttachedSlotImpl<T, U, V extends InventoryPlayerHolder> extends AbstractSlotImpl<T, V> {
 
     public static final @NotNull SlotTypeImpl TYPE = new SlotTypeImpl(AttachedSlotImpl::new);
 
     private static final @NotNull BiFunction EMPTY_MAPPER = (crimsonPlayer, t) -> null;
 
-    private long hash;
-
     private @Nullable Item<U, V> item;
     private @NotNull BiFunction<@NotNull V, @Nullable T, @Nullable U> valueMapper;
 
     public AttachedSlotImpl() {
         this.valueMapper = AttachedSlotImpl.EMPTY_MAPPER;
-        this.update();
     }
 
     @Override
@@ -36,7 +32,7 @@ public class AttachedSlotImpl<T, U, V extends InventoryPlayerHolder> implements
             return null;
         }
 
-        return this.item.instance().buildItem(player, this.valueMapper.apply(player, value));
+        return ((ItemImpl<U, V>) this.item).buildItem(player, this.valueMapper.apply(player, value));
     }
 
     @Override
@@ -47,7 +43,7 @@ public class AttachedSlotImpl<T, U, V extends InventoryPlayerHolder> implements
     @Override
     public void item(@Nullable Item item) {
         this.item = item;
-        this.update();
+        this.itemChanged(item);
     }
 
     public @Nullable BiFunction<@NotNull V, @Nullable T, @Nullable U> valueMapper() {
@@ -58,31 +54,4 @@ public class AttachedSlotImpl<T, U, V extends InventoryPlayerHolder> implements
         this.valueMapper = Objects.requireNonNullElse(valueMapper, AttachedSlotImpl.EMPTY_MAPPER);
         this.update();
     }
-
-    @Override
-    public void update() {
-        this.update(System.currentTimeMillis());
-    }
-
-    private void update(long currentTime) {
-        this.hash = currentTime;
-    }
-
-    @Override
-    public long hash() {
-        if (this.item != null) {
-            ItemRefresh annotation = this.item.instance().getClass().getAnnotation(ItemRefresh.class);
-
-            if (annotation != null) {
-                long currentTime = System.currentTimeMillis();
-                long interval = annotation.value() * 50L;
-
-                if (currentTime - this.hash >= interval) {
-                    this.update(currentTime);
-                }
-            }
-        }
-
-        return this.hash;
-    }
 }
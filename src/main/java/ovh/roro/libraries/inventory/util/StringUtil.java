@@ -28,4 +28,30 @@ public class StringUtil {
 
         return list.toArray(String[]::new);
     }
+
+    // Streams the lines of the input without copying them, a trailing line is only reported if it is not empty
+    public static void forEachLine(@NotNull String input, @NotNull LineConsumer consumer) {
+        Preconditions.checkNotNull(input);
+
+        int index = input.indexOf('\n');
+        int lastIndex = 0;
+        while (index != -1) {
+            consumer.accept(input, lastIndex, index, true);
+
+            lastIndex = index + 1;
+            index = input.indexOf('\n', lastIndex);
+        }
+
+        if (lastIndex != input.length()) {
+            consumer.accept(input, lastIndex, input.length(), false);
+        }
+    }
+
+    @FunctionalInterface
+    public interface LineConsumer {
+
+        // start is inclusive, end is exclusive
+        void accept(@NotNull String input, int start, int end, boolean terminated);
+
+    }
 }